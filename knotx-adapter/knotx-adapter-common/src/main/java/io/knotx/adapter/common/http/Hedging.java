@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Hedging of the service calls. When a call does not respond within the given percentile of the
+ * recent calls latency, an identical call is sent and the first response wins.
+ * <p>
+ * The number of hedged calls is limited by the budget: every call earns <tt>budget</tt> of a token
+ * (e.g. <tt>0.1</tt> lets at most every tenth call be hedged) and every hedged call spends a whole
+ * token. Calls are not hedged until <tt>minSamples</tt> latencies are known.
+ * <p>
+ * A call that loses to its hedged call is recorded with the time it has run for, a lower bound of
+ * its latency. Otherwise the slowest calls would never be recorded and the threshold would drift
+ * down with each refresh.
+ */
+public class Hedging {
+
+  private static final double DEFAULT_PERCENTILE = 95.0;
+
+  private static final long DEFAULT_MIN_DELAY = 10L;
+
+  private static final double DEFAULT_BUDGET = 0.1;
+
+  private static final int DEFAULT_MIN_SAMPLES = 100;
+
+  private static final double MAX_TOKENS = 10.0;
+
+  private static final long THRESHOLD_REFRESH_INTERVAL = 1000L;
+
+  private final double percentile;
+
+  private final long minDelay;
+
+  private final double budget;
+
+  private final int minSamples;
+
+  private final Histogram latencies = new Histogram(new ExponentiallyDecayingReservoir());
+
+  private double tokens;
+
+  private long threshold;
+
+  private long thresholdTimestamp;
+
+  public Hedging(JsonObject config) {
+    percentile = config.getDouble("percentile", DEFAULT_PERCENTILE);
+    minDelay = config.getLong("minDelay", DEFAULT_MIN_DELAY);
+    budget = config.getDouble("budget", DEFAULT_BUDGET);
+    minSamples = config.getInteger("minSamples", DEFAULT_MIN_SAMPLES);
+  }
+
+  public double getPercentile() {
+    return percentile;
+  }
+
+  public long getMinDelay() {
+    return minDelay;
+  }
+
+  public double getBudget() {
+    return budget;
+  }
+
+  public int getMinSamples() {
+    return minSamples;
+  }
+
+  /**
+   * Subscribes to the call and, when it does not respond within the hedging delay, to an identical
+   * one. The first response wins, a failed hedged call is ignored.
+   *
+   * @param call supplies the original call and the hedged one
+   * @param scheduler scheduler of the hedging delay, its clock measures the latency of the calls
+   * @return the first response
+   */
+  <T> Single<T> hedge(Supplier<Single<T>> call, Scheduler scheduler) {
+    return Single.defer(() -> {
+      final long delay = delay(scheduler.now(TimeUnit.MILLISECONDS));
+      final Single<T> original = measured(call.get(), scheduler, true);
+      if (delay < 0) {
+        return original;
+      }
+      final Single<T> hedged = Single.timer(delay, TimeUnit.MILLISECONDS, scheduler)
+          .flatMap(tick -> tryHedge()
+              ? measured(call.get(), scheduler, false)
+              : Single.<T>never())
+          .onErrorResumeNext(Single.<T>never());
+      return Single.amb(Arrays.asList(original, hedged));
+    });
+  }
+
+  /**
+   * Records the latency of the call when it responds. When <tt>recordDisposed</tt> is set, a call
+   * disposed before it finishes is recorded with the time it has run for.
+   */
+  private <T> Single<T> measured(Single<T> call, Scheduler scheduler, boolean recordDisposed) {
+    return Single.defer(() -> {
+      final long start = scheduler.now(TimeUnit.MILLISECONDS);
+      final AtomicBoolean finished = new AtomicBoolean();
+      final Single<T> measured = call
+          .doOnEvent((response, error) -> finished.set(true))
+          .doOnSuccess(response -> record(scheduler.now(TimeUnit.MILLISECONDS) - start));
+      return recordDisposed
+          ? measured.doOnDispose(() -> {
+            if (!finished.get()) {
+              record(scheduler.now(TimeUnit.MILLISECONDS) - start);
+            }
+          })
+          : measured;
+    });
+  }
+
+  /**
+   * Registers a call and earns its share of the budget.
+   *
+   * @return time in ms after which the call should be hedged, <tt>-1</tt> when it should not
+   */
+  long delay() {
+    return delay(System.currentTimeMillis());
+  }
+
+  private synchronized long delay(long now) {
+    tokens = Math.min(MAX_TOKENS, tokens + budget);
+    if (latencies.getCount() < minSamples) {
+      return -1L;
+    }
+    if (now - thresholdTimestamp >= THRESHOLD_REFRESH_INTERVAL) {
+      threshold = Math.max(minDelay,
+          (long) latencies.getSnapshot().getValue(percentile / 100.0));
+      thresholdTimestamp = now;
+    }
+    return threshold;
+  }
+
+  /**
+   * @return <tt>true</tt> when the budget allows to hedge the call, the token is spent then
+   */
+  synchronized boolean tryHedge() {
+    if (tokens >= 1.0) {
+      tokens -= 1.0;
+      return true;
+    }
+    return false;
+  }
+
+  void record(long latency) {
+    latencies.update(latency);
+  }
+}
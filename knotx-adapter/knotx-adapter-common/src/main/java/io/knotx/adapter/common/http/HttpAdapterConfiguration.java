@@ -54,6 +54,10 @@ public class HttpAdapterConfiguration {
               .map(StringToPatternFunction.getInstance())
               .collect(Collectors.toList())
           );
+          if (item.containsKey("hedging")) {
+            metadata.setHedging(new Hedging(item.getJsonObject("hedging")));
+          }
+          metadata.setClientOptions(item.getJsonObject("clientOptions"));
 
           return metadata;
         }).collect(Collectors.toList());
@@ -24,20 +24,29 @@ import io.knotx.dataobjects.ClientResponse;
 import io.knotx.http.AllowedHeadersFilter;
 import io.knotx.http.MultiMapCollector;
 import io.knotx.util.DataObjectsUtil;
+import io.knotx.util.Deadlines;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.reactivex.core.Context;
 import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.core.buffer.Buffer;
 import io.vertx.reactivex.ext.web.client.HttpRequest;
 import io.vertx.reactivex.ext.web.client.HttpResponse;
 import io.vertx.reactivex.ext.web.client.WebClient;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
-import org.apache.commons.lang3.tuple.Pair;
 
 public class HttpClientFacade {
 
@@ -48,14 +57,43 @@ public class HttpClientFacade {
 
   private final List<ServiceMetadata> services;
 
-  private final WebClient webClient;
+  private final Map<ServiceMetadata, ServiceClient> clients = new IdentityHashMap<>();
 
   private final JsonObject customRequestHeader;
 
+  /**
+   * Creates the facade calling all services with the given client.
+   */
   public HttpClientFacade(WebClient webClient, HttpAdapterConfiguration configuration) {
-    this.webClient = webClient;
     this.services = configuration.getServices();
     this.customRequestHeader = configuration.getCustomRequestHeader();
+    final WebClientOptions options = new WebClientOptions(configuration.getClientOptions());
+    final Map<String, ServiceClient> shared = new HashMap<>();
+    services.forEach(metadata -> clients.put(metadata, shared.computeIfAbsent(
+        ServiceClient.name(metadata), name -> new ServiceClient(webClient, options, name))));
+  }
+
+  /**
+   * Creates the facade calling services with the client configured with the Adapter
+   * <tt>clientOptions</tt>. Services with their own <tt>clientOptions</tt> get their own clients,
+   * so a slow service does not exhaust the connections of the others. Services calling the same
+   * host share its pool of the Adapter client and its metrics.
+   */
+  public HttpClientFacade(Vertx vertx, HttpAdapterConfiguration configuration) {
+    this.services = configuration.getServices();
+    this.customRequestHeader = configuration.getCustomRequestHeader();
+    final JsonObject clientOptions = configuration.getClientOptions();
+    final WebClientOptions options = new WebClientOptions(clientOptions);
+    final WebClient webClient = clientOptions.isEmpty() ? WebClient.create(vertx) :
+        WebClient.create(vertx, options);
+    final Map<String, ServiceClient> shared = new HashMap<>();
+    for (int i = 0; i < services.size(); i++) {
+      final ServiceMetadata metadata = services.get(i);
+      clients.put(metadata, metadata.getClientOptions() != null
+          ? ServiceClient.create(vertx, clientOptions, metadata, i + 1)
+          : shared.computeIfAbsent(ServiceClient.name(metadata),
+              name -> new ServiceClient(webClient, options, name)));
+    }
   }
 
   public Single<ClientResponse> process(AdapterRequest message, HttpMethod method) {
@@ -68,8 +106,7 @@ public class HttpClientFacade {
         .flatMap(this::wrapResponse);
   }
 
-  private void logResponse(Pair<ClientRequest, ServiceMetadata> request,
-      HttpResponse<Buffer> resp) {
+  private void logResponse(ServiceCall request, HttpResponse<Buffer> resp) {
     if (resp.statusCode() >= 400 && resp.statusCode() < 600) {
       LOGGER.error("{} {} -> Got response {}, headers[{}]",
           logResponseData(request, resp));
@@ -79,10 +116,9 @@ public class HttpClientFacade {
     }
   }
 
-  private Object[] logResponseData(Pair<ClientRequest, ServiceMetadata> request,
-      HttpResponse<Buffer> resp) {
+  private Object[] logResponseData(ServiceCall request, HttpResponse<Buffer> resp) {
     Object[] data = {
-        request.getLeft().getMethod(),
+        request.getRequest().getMethod(),
         toUrl(request),
         resp.statusCode(),
         DataObjectsUtil.toString(resp.headers())};
@@ -90,9 +126,10 @@ public class HttpClientFacade {
     return data;
   }
 
-  private String toUrl(Pair<ClientRequest, ServiceMetadata> request) {
-    return new StringBuilder(request.getRight().getDomain()).append(request.getRight().getPort())
-        .append(request.getLeft().getPath()).toString();
+  private String toUrl(ServiceCall request) {
+    return new StringBuilder(request.getMetadata().getDomain())
+        .append(request.getMetadata().getPort())
+        .append(request.getRequest().getPath()).toString();
   }
 
   /**
@@ -132,22 +169,17 @@ public class HttpClientFacade {
             .resolveServicePath(params.getString(PATH_PROPERTY_KEY), originalRequest));
   }
 
-  private Pair<ClientRequest, ServiceMetadata> prepareRequestData(AdapterRequest adapterRequest) {
-    final Pair<ClientRequest, ServiceMetadata> serviceData;
+  private ServiceCall prepareRequestData(AdapterRequest adapterRequest) {
+    final ServiceCall serviceData;
 
     final JsonObject params = adapterRequest.getParams();
     final ClientRequest serviceRequest = buildServiceRequest(adapterRequest.getRequest(), params);
     final Optional<ServiceMetadata> serviceMetadata = findServiceMetadata(serviceRequest.getPath());
 
     if (serviceMetadata.isPresent()) {
-      final ServiceMetadata metadata = serviceMetadata.get();
-      if (params.containsKey(HEADERS_PROPERTY_KEY)) {
-        metadata.setAdditionalHeaders(params.getJsonObject(HEADERS_PROPERTY_KEY));
-      }
-      if (params.containsKey(QUERY_PARAMS_PROPERTY_KEY)) {
-        metadata.setQueryParams(params.getJsonObject(QUERY_PARAMS_PROPERTY_KEY));
-      }
-      serviceData = Pair.of(serviceRequest, metadata);
+      serviceData = new ServiceCall(serviceRequest, serviceMetadata.get(),
+          params.getJsonObject(QUERY_PARAMS_PROPERTY_KEY),
+          params.getJsonObject(HEADERS_PROPERTY_KEY));
     } else {
       final String error = String
           .format("No matching service definition for the requested path '%s'",
@@ -161,41 +193,62 @@ public class HttpClientFacade {
     return services.stream().filter(metadata -> servicePath.matches(metadata.getPath())).findAny();
   }
 
-  private Single<HttpResponse<Buffer>> callService(
-      Pair<ClientRequest, ServiceMetadata> serviceData, HttpMethod method) {
+  private Single<HttpResponse<Buffer>> callService(ServiceCall serviceData, HttpMethod method) {
     final Single<HttpResponse<Buffer>> httpResponse;
 
-    final ClientRequest serviceRequest = serviceData.getLeft();
-    final ServiceMetadata serviceMetadata = serviceData.getRight();
+    final ClientRequest serviceRequest = serviceData.getRequest();
+    final ServiceMetadata serviceMetadata = serviceData.getMetadata();
+    final ServiceClient client = clients.get(serviceMetadata);
+
+    final HttpRequest<Buffer> request = client
+        .request(method, serviceMetadata, serviceRequest.getPath());
 
-    final HttpRequest<Buffer> request = webClient
-        .request(method, serviceMetadata.getPort(), serviceMetadata.getDomain(),
-            serviceRequest.getPath());
+    if (serviceRequest.getDeadline() != Deadlines.NONE) {
+      long timeLeft = Deadlines.timeLeft(serviceRequest, Deadlines.NONE);
+      if (timeLeft <= 0) {
+        return Single.error(Deadlines.exceeded(serviceRequest));
+      }
+      request.timeout(timeLeft);
+    }
 
-    updateRequestQueryParams(request, serviceMetadata);
+    updateRequestQueryParams(request, serviceData);
     updateRequestHeaders(request, serviceRequest, serviceMetadata);
-    overrideRequestHeaders(request, serviceMetadata);
+    overrideRequestHeaders(request, serviceData);
 
     if (!serviceRequest.getFormAttributes().isEmpty()) {
-      httpResponse = request.rxSendForm(serviceRequest.getFormAttributes());
+      httpResponse = client.track(request.rxSendForm(serviceRequest.getFormAttributes()));
+    } else if (method == HttpMethod.GET && serviceMetadata.getHedging() != null) {
+      httpResponse = hedged(client, request, serviceMetadata.getHedging());
     } else {
-      httpResponse = request.rxSend();
+      httpResponse = client.track(request.rxSend());
     }
 
     return httpResponse;
   }
 
-  private void overrideRequestHeaders(HttpRequest<Buffer> request, ServiceMetadata metadata) {
-    if (metadata.getAdditionalHeaders().isPresent()) {
-      metadata.getAdditionalHeaders().get().forEach(entry -> {
+  /**
+   * Sends the request and, when it does not respond within the hedging delay, sends an identical
+   * one, see {@link Hedging}.
+   */
+  private Single<HttpResponse<Buffer>> hedged(ServiceClient client, HttpRequest<Buffer> request,
+      Hedging hedging) {
+    final Context context = Vertx.currentContext();
+    final Scheduler scheduler =
+        context != null ? RxHelper.scheduler(context) : Schedulers.computation();
+    return hedging.hedge(() -> client.track(request.rxSend()), scheduler);
+  }
+
+  private void overrideRequestHeaders(HttpRequest<Buffer> request, ServiceCall call) {
+    if (call.getAdditionalHeaders().isPresent()) {
+      call.getAdditionalHeaders().get().forEach(entry -> {
         request.putHeader(entry.getKey(), entry.getValue().toString());
       });
     }
   }
 
-  private void updateRequestQueryParams(HttpRequest<Buffer> request, ServiceMetadata metadata) {
-    if (metadata.getQueryParams().isPresent()) {
-      metadata.getQueryParams().get().forEach(entry ->
+  private void updateRequestQueryParams(HttpRequest<Buffer> request, ServiceCall call) {
+    if (call.getQueryParams().isPresent()) {
+      call.getQueryParams().get().forEach(entry ->
           request.addQueryParam(entry.getKey(), entry.getValue().toString())
       );
     }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.vertx.core.json.JsonObject;
+import java.util.Optional;
+
+/**
+ * A single call of the service. Query params and headers defined in the Adapter params of the call
+ * are kept here, so the shared {@link ServiceMetadata} is never modified while processing requests.
+ */
+class ServiceCall {
+
+  private final ClientRequest request;
+
+  private final ServiceMetadata metadata;
+
+  private final JsonObject queryParams;
+
+  private final JsonObject additionalHeaders;
+
+  ServiceCall(ClientRequest request, ServiceMetadata metadata, JsonObject queryParams,
+      JsonObject additionalHeaders) {
+    this.request = request;
+    this.metadata = metadata;
+    this.queryParams = queryParams;
+    this.additionalHeaders = additionalHeaders;
+  }
+
+  ClientRequest getRequest() {
+    return request;
+  }
+
+  ServiceMetadata getMetadata() {
+    return metadata;
+  }
+
+  Optional<JsonObject> getQueryParams() {
+    return queryParams != null ? Optional.of(queryParams) : metadata.getQueryParams();
+  }
+
+  Optional<JsonObject> getAdditionalHeaders() {
+    return additionalHeaders != null ? Optional.of(additionalHeaders)
+        : metadata.getAdditionalHeaders();
+  }
+}
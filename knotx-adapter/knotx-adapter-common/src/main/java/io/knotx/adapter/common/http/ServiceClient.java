@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.knotx.metrics.KnotxMetrics;
+import io.reactivex.Single;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.ext.web.client.HttpRequest;
+import io.vertx.reactivex.ext.web.client.HttpResponse;
+import io.vertx.reactivex.ext.web.client.WebClient;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP client calling a host through one connection pool, shared by all services calling the host
+ * with the Adapter client, or owned by a service with its own <tt>clientOptions</tt>. It counts the
+ * calls in progress and the calls waiting for a connection in the <tt>knotx</tt> metrics registry:
+ * <ul>
+ * <li><tt>knotx.adapter.http.{POOL}.inFlight</tt> - calls in progress,</li>
+ * <li><tt>knotx.adapter.http.{POOL}.waiting</tt> - calls above the pool capacity, waiting in the
+ * pool queue,</li>
+ * <li><tt>knotx.adapter.http.{POOL}.failed</tt> - failed calls, e.g. rejected because the pool
+ * queue was full.</li>
+ * </ul>
+ * The pool is named <tt>{DOMAIN}:{PORT}</tt> for the Adapter client and
+ * <tt>{DOMAIN}:{PORT}-{N}</tt> for the N-th service (counted from 1) with its own client.
+ * The pool capacity is the number of calls the pool may send at once, taking into account HTTP/2
+ * multiplexing and HTTP/1.1 pipelining.
+ */
+class ServiceClient {
+
+  private static final String METRICS_PREFIX = "knotx.adapter.http";
+
+  private final WebClient webClient;
+
+  private final int capacity;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final Counter inFlightCounter;
+
+  private final Counter waitingCounter;
+
+  private final Meter failedMeter;
+
+  ServiceClient(WebClient webClient, HttpClientOptions options, String name) {
+    this.webClient = webClient;
+    this.capacity = capacity(options);
+    MetricRegistry registry = KnotxMetrics.registry();
+    this.inFlightCounter = registry.counter(MetricRegistry.name(METRICS_PREFIX, name, "inFlight"));
+    this.waitingCounter = registry.counter(MetricRegistry.name(METRICS_PREFIX, name, "waiting"));
+    this.failedMeter = registry.meter(MetricRegistry.name(METRICS_PREFIX, name, "failed"));
+  }
+
+  /**
+   * Creates the client of the service with its own pool configured with the adapter
+   * <tt>clientOptions</tt> overridden by the service ones.
+   *
+   * @param index position of the service in the Adapter configuration, counted from 1
+   */
+  static ServiceClient create(Vertx vertx, JsonObject clientOptions, ServiceMetadata metadata,
+      int index) {
+    WebClientOptions options = new WebClientOptions(
+        clientOptions.copy().mergeIn(metadata.getClientOptions()));
+    return new ServiceClient(WebClient.create(vertx, options), options,
+        name(metadata) + "-" + index);
+  }
+
+  static String name(ServiceMetadata metadata) {
+    return metadata.getDomain() + ":" + metadata.getPort();
+  }
+
+  HttpRequest<Buffer> request(HttpMethod method, ServiceMetadata metadata, String path) {
+    return webClient.request(method, metadata.getPort(), metadata.getDomain(), path);
+  }
+
+  /**
+   * Tracks the call in the pool metrics.
+   */
+  Single<HttpResponse<Buffer>> track(Single<HttpResponse<Buffer>> call) {
+    return Single.defer(() -> {
+      final boolean waiting = inFlight.incrementAndGet() > capacity;
+      inFlightCounter.inc();
+      if (waiting) {
+        waitingCounter.inc();
+      }
+      return call
+          .doOnError(error -> failedMeter.mark())
+          .doFinally(() -> {
+            inFlight.decrementAndGet();
+            inFlightCounter.dec();
+            if (waiting) {
+              waitingCounter.dec();
+            }
+          });
+    });
+  }
+
+  private static int capacity(HttpClientOptions options) {
+    final long capacity;
+    if (options.getProtocolVersion() == HttpVersion.HTTP_2) {
+      capacity = options.getHttp2MultiplexingLimit() < 0 ? Integer.MAX_VALUE
+          : (long) options.getHttp2MaxPoolSize() * options.getHttp2MultiplexingLimit();
+    } else if (options.isPipelining()) {
+      capacity = (long) options.getMaxPoolSize() * options.getPipeliningLimit();
+    } else {
+      capacity = options.getMaxPoolSize();
+    }
+    return (int) Math.min(Integer.MAX_VALUE, capacity);
+  }
+}
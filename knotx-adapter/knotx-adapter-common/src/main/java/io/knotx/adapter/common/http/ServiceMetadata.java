@@ -30,6 +30,8 @@ public class ServiceMetadata {
   private List<Pattern> allowedRequestHeaderPatterns;
   private JsonObject queryParams;
   private JsonObject additionalHeaders;
+  private Hedging hedging;
+  private JsonObject clientOptions;
 
   public String getPath() {
     return path;
@@ -72,6 +74,11 @@ public class ServiceMetadata {
     return Optional.ofNullable(queryParams);
   }
 
+  /**
+   * @deprecated the metadata is shared by all calls of the service, query params of a single call
+   * are taken from the <tt>queryParams</tt> Adapter param
+   */
+  @Deprecated
   public void setQueryParams(JsonObject queryParams) {
     this.queryParams = queryParams;
   }
@@ -80,10 +87,40 @@ public class ServiceMetadata {
     return Optional.ofNullable(additionalHeaders);
   }
 
+  /**
+   * @deprecated the metadata is shared by all calls of the service, headers of a single call are
+   * taken from the <tt>headers</tt> Adapter param
+   */
+  @Deprecated
   public void setAdditionalHeaders(JsonObject additionalHeaders) {
     this.additionalHeaders = additionalHeaders;
   }
 
+  /**
+   * @return hedging of the service <tt>GET</tt> calls, <tt>null</tt> when calls are not hedged
+   */
+  public Hedging getHedging() {
+    return hedging;
+  }
+
+  public ServiceMetadata setHedging(Hedging hedging) {
+    this.hedging = hedging;
+    return this;
+  }
+
+  /**
+   * @return options of the service own HTTP client pool, <tt>null</tt> when the service uses the
+   * pool shared by all services of the Adapter
+   */
+  public JsonObject getClientOptions() {
+    return clientOptions;
+  }
+
+  public ServiceMetadata setClientOptions(JsonObject clientOptions) {
+    this.clientOptions = clientOptions;
+    return this;
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (obj != null && obj instanceof ServiceMetadata) {
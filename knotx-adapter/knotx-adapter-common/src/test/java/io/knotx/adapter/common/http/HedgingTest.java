@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import io.reactivex.Single;
+import io.reactivex.schedulers.TestScheduler;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+public class HedgingTest {
+
+  @Test
+  public void delay_whenNotEnoughSamples_expectNoHedging() {
+    Hedging hedging = new Hedging(new JsonObject().put("minSamples", 10));
+    record(hedging, 9, 100L);
+
+    assertThat(hedging.delay(), equalTo(-1L));
+  }
+
+  @Test
+  public void delay_whenEnoughSamples_expectPercentileOfLatencies() {
+    Hedging hedging = new Hedging(new JsonObject().put("minSamples", 10).put("percentile", 50));
+    record(hedging, 10, 100L);
+    record(hedging, 10, 300L);
+
+    assertThat(hedging.delay() >= 100L && hedging.delay() <= 300L, equalTo(true));
+  }
+
+  @Test
+  public void delay_whenPercentileBelowMinDelay_expectMinDelay() {
+    Hedging hedging = new Hedging(new JsonObject().put("minSamples", 10).put("minDelay", 50));
+    record(hedging, 10, 5L);
+
+    assertThat(hedging.delay(), equalTo(50L));
+  }
+
+  @Test
+  public void tryHedge_expectHedgesLimitedByBudget() {
+    Hedging hedging = new Hedging(new JsonObject().put("budget", 0.25));
+
+    int hedged = 0;
+    for (int i = 0; i < 20; i++) {
+      hedging.delay();
+      if (hedging.tryHedge()) {
+        hedged++;
+      }
+    }
+    assertThat(hedged, equalTo(5));
+  }
+
+  @Test
+  public void hedge_whenSlowCallsLoseToHedgedCalls_expectThresholdNotDrifting() {
+    Hedging hedging = new Hedging(new JsonObject().put("minSamples", 100).put("percentile", 90)
+        .put("budget", 1.0));
+    TestScheduler scheduler = new TestScheduler();
+
+    // calls respond within 10-1000 ms, hedged calls within 5 ms
+    for (int i = 0; i < 1000; i++) {
+      long latency = 10L + (i % 100) * 10L;
+      AtomicBoolean original = new AtomicBoolean(true);
+      hedging.hedge(() -> Single.timer(original.getAndSet(false) ? latency : 5L,
+          TimeUnit.MILLISECONDS, scheduler), scheduler).subscribe();
+      scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    }
+
+    // the threshold stays close to p90 of the calls (900 ms), without the calls that lost to
+    // hedged calls it would fall by 100 ms with each refresh
+    assertThat(hedging.delay(), greaterThan(700L));
+  }
+
+  private void record(Hedging hedging, int times, long latency) {
+    for (int i = 0; i < times; i++) {
+      hedging.record(latency);
+    }
+  }
+}
@@ -19,6 +19,7 @@ package io.knotx.adapter.service.http;
 import io.knotx.adapter.common.http.HttpAdapterConfiguration;
 import io.knotx.adapter.service.http.impl.HttpServiceAdapterProxyImpl;
 import io.knotx.proxy.AdapterProxy;
+import io.knotx.proxy.KnotxServiceBinder;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
@@ -26,7 +27,6 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.AbstractVerticle;
-import io.vertx.serviceproxy.ServiceBinder;
 
 public class HttpServiceAdapterVerticle extends AbstractVerticle {
 
@@ -36,7 +36,7 @@ public class HttpServiceAdapterVerticle extends AbstractVerticle {
 
   private MessageConsumer<JsonObject> consumer;
 
-  private ServiceBinder serviceBinder;
+  private KnotxServiceBinder serviceBinder;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -50,7 +50,7 @@ public class HttpServiceAdapterVerticle extends AbstractVerticle {
 
     //register the service proxy on event bus
 
-    serviceBinder = new ServiceBinder(getVertx());
+    serviceBinder = new KnotxServiceBinder(getVertx());
     consumer = serviceBinder
         .setAddress(configuration.getAddress())
         .register(AdapterProxy.class, new HttpServiceAdapterProxyImpl(vertx, configuration));
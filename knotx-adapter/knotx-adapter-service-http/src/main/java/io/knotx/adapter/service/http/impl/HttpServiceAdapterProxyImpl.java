@@ -22,17 +22,14 @@ import io.knotx.dataobjects.AdapterRequest;
 import io.knotx.dataobjects.AdapterResponse;
 import io.reactivex.Single;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.json.JsonObject;
-import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.reactivex.core.Vertx;
-import io.vertx.reactivex.ext.web.client.WebClient;
 
 public class HttpServiceAdapterProxyImpl extends AbstractAdapterProxy {
 
   private HttpClientFacade httpClientFacade;
 
   public HttpServiceAdapterProxyImpl(Vertx vertx, HttpAdapterConfiguration configuration) {
-    this.httpClientFacade = new HttpClientFacade(getWebClient(vertx, configuration), configuration);
+    this.httpClientFacade = new HttpClientFacade(vertx, configuration);
   }
 
   @Override
@@ -40,10 +37,4 @@ public class HttpServiceAdapterProxyImpl extends AbstractAdapterProxy {
     return httpClientFacade.process(message, HttpMethod.GET)
         .map(new AdapterResponse()::setResponse);
   }
-
-  private WebClient getWebClient(Vertx vertx, HttpAdapterConfiguration configuration) {
-    JsonObject clientOptions = configuration.getClientOptions();
-    return clientOptions.isEmpty() ? WebClient.create(vertx) :
-        WebClient.create(vertx, new WebClientOptions(clientOptions));
-  }
 }
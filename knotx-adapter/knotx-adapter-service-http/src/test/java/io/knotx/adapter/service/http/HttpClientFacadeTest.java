@@ -220,6 +220,36 @@ public class HttpClientFacadeTest {
         );
   }
 
+  @Test
+  @KnotxConfiguration("knotx-service-adapter-http-test.json")
+  public void whenServiceRequestedWithQueryParamsAndHeaders_expectServiceMetadataNotModified(
+      TestContext context) throws Exception {
+    Async async = context.async();
+    // given
+    final HttpAdapterConfiguration configuration = getConfiguration();
+    HttpClientFacade clientFacade = new HttpClientFacade(webClient(), configuration);
+    final AdapterRequest request = payloadMessage(REQUEST_PATH, new ClientRequest());
+    request.getParams()
+        .put("queryParams", new JsonObject().put("q", "knotx"))
+        .put("headers", new JsonObject().put("X-test", "knotx"));
+
+    // when
+    Single<ClientResponse> result = clientFacade.process(request, HttpMethod.GET);
+
+    // then
+    result
+        .doOnSuccess(response -> {
+          context.assertEquals(HttpResponseStatus.OK.code(), response.getStatusCode());
+          ServiceMetadata metadata = configuration.getServices().get(0);
+          context.assertFalse(metadata.getQueryParams().isPresent());
+          context.assertFalse(metadata.getAdditionalHeaders().isPresent());
+        })
+        .subscribe(
+            response -> async.complete(),
+            error -> context.fail(error.getMessage())
+        );
+  }
+
   private WebClient webClient() {
     return WebClient.create(Vertx.newInstance(vertx.vertx()));
   }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.knotx.dataobjects;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link io.knotx.dataobjects.ClientResponse}.
+ *
+ * NOTE: This class has been automatically generated from the {@link io.knotx.dataobjects.ClientResponse} original class using Vert.x codegen.
+ */
+public class ClientResponseConverter {
+
+  public static void fromJson(JsonObject json, ClientResponse obj) {
+    if (json.getValue("body") instanceof String) {
+      obj.setBody(io.vertx.core.buffer.Buffer.buffer(java.util.Base64.getDecoder().decode((String)json.getValue("body"))));
+    }
+    if (json.getValue("jsonHeaders") instanceof JsonObject) {
+      obj.setJsonHeaders(((JsonObject)json.getValue("jsonHeaders")).copy());
+    }
+    if (json.getValue("statusCode") instanceof Number) {
+      obj.setStatusCode(((Number)json.getValue("statusCode")).intValue());
+    }
+  }
+
+  public static void toJson(ClientResponse obj, JsonObject json) {
+    if (obj.getBody() != null) {
+      json.put("body", obj.getBody().getBytes());
+    }
+    if (obj.getJsonHeaders() != null) {
+      json.put("jsonHeaders", obj.getJsonHeaders());
+    }
+    json.put("statusCode", obj.getStatusCode());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads values written by {@link BinaryWriter} from a {@link Buffer}, starting at a given position.
+ */
+class BinaryReader {
+
+  private final Buffer buffer;
+
+  private final List<String> knotIds = new ArrayList<>();
+
+  private int position;
+
+  BinaryReader(Buffer buffer, int position) {
+    this.buffer = buffer;
+    this.position = position;
+  }
+
+  byte readByte() {
+    byte value = buffer.getByte(position);
+    position += 1;
+    return value;
+  }
+
+  int readInt() {
+    int value = buffer.getInt(position);
+    position += 4;
+    return value;
+  }
+
+  long readLong() {
+    long value = buffer.getLong(position);
+    position += 8;
+    return value;
+  }
+
+  boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  String readString() {
+    int length = readInt();
+    if (length == BinaryWriter.NULL_LENGTH) {
+      return null;
+    }
+    String value = buffer.getString(position, position + length, "UTF-8");
+    position += length;
+    return value;
+  }
+
+  /**
+   * @return a slice of the underlying buffer, no bytes are copied.
+   */
+  Buffer readBuffer() {
+    int length = readInt();
+    if (length == BinaryWriter.NULL_LENGTH) {
+      return null;
+    }
+    Buffer value = buffer.slice(position, position + length);
+    position += length;
+    return value;
+  }
+
+  JsonObject readJson() {
+    String value = readString();
+    return value == null ? null : new JsonObject(value);
+  }
+
+  HttpMethod readMethod() {
+    String method = readString();
+    return method == null ? null : HttpMethod.valueOf(method);
+  }
+
+  MultiMap readMultiMap() {
+    int size = readInt();
+    MultiMap multiMap = MultiMap.caseInsensitiveMultiMap();
+    for (int i = 0; i < size; i++) {
+      multiMap.add(readString(), readString());
+    }
+    return multiMap;
+  }
+
+  String readKnotId() {
+    int index = readInt();
+    if (index == BinaryWriter.NEW_KNOT_ID) {
+      String knotId = readString().intern();
+      knotIds.add(knotId);
+      return knotId;
+    }
+    return knotIds.get(index);
+  }
+
+  int position() {
+    return position;
+  }
+}
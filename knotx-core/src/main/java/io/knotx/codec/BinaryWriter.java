@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes primitive values into a {@link Buffer} using the Knot.x binary event bus format. Strings
+ * and buffers are length-prefixed (<tt>-1</tt> marks <tt>null</tt>). Knot identifiers are written
+ * once per message and referenced by index afterwards.
+ */
+class BinaryWriter {
+
+  static final int NULL_LENGTH = -1;
+
+  static final int NEW_KNOT_ID = -1;
+
+  private static final int ENCODE_CHUNK_SIZE = 8192;
+
+  private final Buffer buffer;
+
+  private final Map<String, Integer> knotIds = new HashMap<>();
+
+  private ByteBuffer encoded;
+
+  BinaryWriter(Buffer buffer) {
+    this.buffer = buffer;
+  }
+
+  BinaryWriter writeByte(byte value) {
+    buffer.appendByte(value);
+    return this;
+  }
+
+  BinaryWriter writeInt(int value) {
+    buffer.appendInt(value);
+    return this;
+  }
+
+  BinaryWriter writeLong(long value) {
+    buffer.appendLong(value);
+    return this;
+  }
+
+  BinaryWriter writeBoolean(boolean value) {
+    buffer.appendByte(value ? (byte) 1 : (byte) 0);
+    return this;
+  }
+
+  BinaryWriter writeString(String value) {
+    if (value == null) {
+      buffer.appendInt(NULL_LENGTH);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+    return this;
+  }
+
+  /**
+   * Writes the characters in the same format as {@link #writeString(String)}, but encodes them in
+   * chunks, so no String of them is built (e.g. for a Fragment that is a view of its template).
+   */
+  BinaryWriter writeChars(CharSequence value) {
+    if (value == null || value instanceof String) {
+      return writeString((String) value);
+    }
+    int lengthPosition = buffer.length();
+    buffer.appendInt(0);
+    if (encoded == null) {
+      encoded = ByteBuffer.allocate(ENCODE_CHUNK_SIZE);
+    }
+    CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    CharBuffer chars = CharBuffer.wrap(value);
+    while (encoder.encode(chars, encoded, true).isOverflow()) {
+      appendEncoded();
+    }
+    encoder.flush(encoded);
+    appendEncoded();
+    buffer.setInt(lengthPosition, buffer.length() - lengthPosition - Integer.BYTES);
+    return this;
+  }
+
+  BinaryWriter writeBuffer(Buffer value) {
+    if (value == null) {
+      buffer.appendInt(NULL_LENGTH);
+    } else {
+      buffer.appendInt(value.length()).appendBuffer(value);
+    }
+    return this;
+  }
+
+  BinaryWriter writeJson(JsonObject value) {
+    return writeString(value == null ? null : value.encode());
+  }
+
+  BinaryWriter writeMethod(HttpMethod method) {
+    return writeString(method == null ? null : method.name());
+  }
+
+  BinaryWriter writeMultiMap(MultiMap multiMap) {
+    if (multiMap == null) {
+      buffer.appendInt(0);
+      return this;
+    }
+    List<Map.Entry<String, String>> entries = multiMap.getDelegate().entries();
+    buffer.appendInt(entries.size());
+    entries.forEach(entry -> writeString(entry.getKey()).writeString(entry.getValue()));
+    return this;
+  }
+
+  /**
+   * Knot identifiers come from a very small vocabulary, so each distinct identifier is sent only
+   * once per message. Subsequent occurrences are replaced with its index.
+   */
+  BinaryWriter writeKnotId(String knotId) {
+    Integer index = knotIds.get(knotId);
+    if (index == null) {
+      knotIds.put(knotId, knotIds.size());
+      buffer.appendInt(NEW_KNOT_ID);
+      writeString(knotId);
+    } else {
+      buffer.appendInt(index);
+    }
+    return this;
+  }
+
+  private void appendEncoded() {
+    buffer.appendBytes(encoded.array(), 0, encoded.position());
+    encoded.clear();
+  }
+}
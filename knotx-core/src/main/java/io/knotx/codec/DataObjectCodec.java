@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Event bus codec writing a Knot.x data object directly into the wire buffer, without the
+ * intermediate {@link io.vertx.core.json.JsonObject} representation. The payload is prefixed with
+ * its length and the format version.
+ *
+ * @param <T> type of the data object
+ */
+public class DataObjectCodec<T> implements MessageCodec<T, T> {
+
+  static final byte FORMAT_VERSION = 1;
+
+  private final String name;
+
+  private final BiConsumer<BinaryWriter, T> writer;
+
+  private final Function<BinaryReader, T> reader;
+
+  DataObjectCodec(String name, BiConsumer<BinaryWriter, T> writer,
+      Function<BinaryReader, T> reader) {
+    this.name = name;
+    this.writer = writer;
+    this.reader = reader;
+  }
+
+  @Override
+  public void encodeToWire(Buffer buffer, T value) {
+    int lengthPosition = buffer.length();
+    buffer.appendInt(0).appendByte(FORMAT_VERSION);
+    writer.accept(new BinaryWriter(buffer), value);
+    buffer.setInt(lengthPosition, buffer.length() - lengthPosition - 4);
+  }
+
+  @Override
+  public T decodeFromWire(int pos, Buffer buffer) {
+    BinaryReader binaryReader = new BinaryReader(buffer, pos + 4);
+    byte version = binaryReader.readByte();
+    if (version != FORMAT_VERSION) {
+      throw new IllegalStateException(
+          "Unsupported [" + name + "] format version [" + version + "]");
+    }
+    return reader.apply(binaryReader);
+  }
+
+  /**
+   * Local delivery gets its own copy of the data object, so the receiver can never modify the
+   * instance still held by the sender.
+   */
+  @Override
+  public T transform(T value) {
+    Buffer buffer = Buffer.buffer();
+    encodeToWire(buffer, value);
+    return decodeFromWire(0, buffer);
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.knotx.dataobjects.AdapterRequest;
+import io.knotx.dataobjects.AdapterResponse;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.util.Fingerprint;
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.buffer.Buffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Binary layout of the Knot.x data objects. Every nested object is preceded by a presence flag,
+ * every collection by its size.
+ */
+final class DataObjectsFormat {
+
+  private DataObjectsFormat() {
+    //util constructor
+  }
+
+  static void writeKnotContext(BinaryWriter writer, KnotContext knotContext) {
+    writer.writeString(knotContext.getTransition());
+    writeNullable(writer, knotContext.getClientRequest(), DataObjectsFormat::writeClientRequest);
+    writeNullable(writer, knotContext.getClientResponse(), DataObjectsFormat::writeClientResponse);
+    List<Fragment> fragments = knotContext.getFragments();
+    if (fragments == null) {
+      writer.writeInt(BinaryWriter.NULL_LENGTH);
+    } else {
+      writer.writeInt(fragments.size());
+      fragments.forEach(fragment -> writeFragment(writer, fragment));
+    }
+  }
+
+  static KnotContext readKnotContext(BinaryReader reader) {
+    KnotContext knotContext = new KnotContext()
+        .setTransition(reader.readString())
+        .setClientRequest(readNullable(reader, DataObjectsFormat::readClientRequest))
+        .setClientResponse(readNullable(reader, DataObjectsFormat::readClientResponse));
+    int size = reader.readInt();
+    if (size != BinaryWriter.NULL_LENGTH) {
+      List<Fragment> fragments = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        fragments.add(readFragment(reader));
+      }
+      knotContext.setFragments(fragments);
+    }
+    return knotContext;
+  }
+
+  static void writeFragment(BinaryWriter writer, Fragment fragment) {
+    writer.writeInt(fragment.knots().size());
+    fragment.knots().forEach(writer::writeKnotId);
+    Buffer contentBytes = fragment.contentBytes();
+    if (contentBytes != null) {
+      writer.writeBuffer(contentBytes);
+    } else {
+      writer.writeChars(fragment.contentView());
+    }
+    Buffer contextBytes = fragment.contextBytes();
+    if (contextBytes != null) {
+      writer.writeBuffer(contextBytes);
+    } else {
+      writer.writeJson(fragment.contextView());
+    }
+    writeNullable(writer, fragment.fingerprintIfComputed(), DataObjectsFormat::writeFingerprint);
+    writeNullable(writer, fragment.contextFingerprint(), DataObjectsFormat::writeFingerprint);
+  }
+
+  static Fragment readFragment(BinaryReader reader) {
+    int size = reader.readInt();
+    List<String> knots = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      knots.add(reader.readKnotId());
+    }
+    return new Fragment(knots, reader.readBuffer(), reader.readBuffer(),
+        readNullable(reader, DataObjectsFormat::readFingerprint))
+        .contextFingerprint(readNullable(reader, DataObjectsFormat::readFingerprint));
+  }
+
+  private static void writeFingerprint(BinaryWriter writer, Fingerprint fingerprint) {
+    writer.writeLong(fingerprint.getHigh()).writeLong(fingerprint.getLow());
+  }
+
+  private static Fingerprint readFingerprint(BinaryReader reader) {
+    return new Fingerprint(reader.readLong(), reader.readLong());
+  }
+
+  static void writeClientRequest(BinaryWriter writer, ClientRequest request) {
+    writer.writeString(request.getPath())
+        .writeMethod(request.getMethod())
+        .writeMultiMap(request.getHeaders())
+        .writeMultiMap(request.getParams())
+        .writeMultiMap(request.getFormAttributes())
+        .writeLong(request.getDeadline());
+  }
+
+  static ClientRequest readClientRequest(BinaryReader reader) {
+    return new ClientRequest()
+        .setPath(reader.readString())
+        .setMethod(reader.readMethod())
+        .setHeaders(reader.readMultiMap())
+        .setParams(reader.readMultiMap())
+        .setFormAttributes(reader.readMultiMap())
+        .setDeadline(reader.readLong());
+  }
+
+  static void writeClientResponse(BinaryWriter writer, ClientResponse response) {
+    writer.writeInt(response.getStatusCode())
+        .writeMultiMap(response.getHeaders())
+        .writeBuffer(response.getBody());
+  }
+
+  static ClientResponse readClientResponse(BinaryReader reader) {
+    ClientResponse response = new ClientResponse()
+        .setStatusCode(reader.readInt())
+        .setHeaders(reader.readMultiMap());
+    Buffer body = reader.readBuffer();
+    if (body != null) {
+      response.setBody(body);
+    }
+    return response;
+  }
+
+  static void writeAdapterRequest(BinaryWriter writer, AdapterRequest request) {
+    writeNullable(writer, request.getRequest(), DataObjectsFormat::writeClientRequest);
+    writer.writeJson(request.getParams())
+        .writeJson(request.getAdapterParams());
+  }
+
+  static AdapterRequest readAdapterRequest(BinaryReader reader) {
+    return new AdapterRequest()
+        .setRequest(readNullable(reader, DataObjectsFormat::readClientRequest))
+        .setParams(reader.readJson())
+        .setAdapterParams(reader.readJson());
+  }
+
+  static void writeAdapterResponse(BinaryWriter writer, AdapterResponse response) {
+    writeNullable(writer, response.getResponse(), DataObjectsFormat::writeClientResponse);
+    writer.writeString(response.getSignal());
+  }
+
+  static AdapterResponse readAdapterResponse(BinaryReader reader) {
+    return new AdapterResponse()
+        .setResponse(readNullable(reader, DataObjectsFormat::readClientResponse))
+        .setSignal(reader.readString());
+  }
+
+  private static <T> void writeNullable(BinaryWriter writer, T value,
+      BiConsumer<BinaryWriter, T> valueWriter) {
+    writer.writeBoolean(value != null);
+    if (value != null) {
+      valueWriter.accept(writer, value);
+    }
+  }
+
+  private static <T> T readNullable(BinaryReader reader, Function<BinaryReader, T> valueReader) {
+    return reader.readBoolean() ? valueReader.apply(reader) : null;
+  }
+}
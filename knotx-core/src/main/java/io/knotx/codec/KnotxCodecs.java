@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.knotx.dataobjects.AdapterRequest;
+import io.knotx.dataobjects.AdapterResponse;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Registers the binary {@link DataObjectCodec}s of the Knot.x data objects on the event bus.
+ * <p>
+ * The binary format is used by default. It can be switched off (so only the JSON messages of the
+ * generated service proxies are sent) with <tt>-Dknotx.eventbus.codec=json</tt>.
+ */
+public final class KnotxCodecs {
+
+  public static final String CODEC_PROPERTY = "knotx.eventbus.codec";
+
+  public static final String JSON_CODEC = "json";
+
+  private static final String BINARY_ADDRESS_SUFFIX = ".binary.v";
+
+  private static final Set<EventBus> REGISTERED = Collections
+      .newSetFromMap(new WeakHashMap<>());
+
+  private KnotxCodecs() {
+    //util constructor
+  }
+
+  /**
+   * Registers the codecs as the default ones for Knot.x data objects. Subsequent calls for the same
+   * Vert.x instance have no effect.
+   *
+   * @param vertx Vert.x instance which event bus will be used
+   */
+  public static synchronized void register(Vertx vertx) {
+    EventBus eventBus = vertx.eventBus();
+    if (REGISTERED.add(eventBus)) {
+      eventBus
+          .registerDefaultCodec(KnotContext.class, new DataObjectCodec<>("knotx.KnotContext",
+              DataObjectsFormat::writeKnotContext, DataObjectsFormat::readKnotContext))
+          .registerDefaultCodec(ClientRequest.class, new DataObjectCodec<>("knotx.ClientRequest",
+              DataObjectsFormat::writeClientRequest, DataObjectsFormat::readClientRequest))
+          .registerDefaultCodec(ClientResponse.class, new DataObjectCodec<>("knotx.ClientResponse",
+              DataObjectsFormat::writeClientResponse, DataObjectsFormat::readClientResponse))
+          .registerDefaultCodec(AdapterRequest.class, new DataObjectCodec<>("knotx.AdapterRequest",
+              DataObjectsFormat::writeAdapterRequest, DataObjectsFormat::readAdapterRequest))
+          .registerDefaultCodec(AdapterResponse.class,
+              new DataObjectCodec<>("knotx.AdapterResponse",
+                  DataObjectsFormat::writeAdapterResponse, DataObjectsFormat::readAdapterResponse));
+    }
+  }
+
+  /**
+   * @return <tt>true</tt> unless the binary format was switched off with a system property.
+   */
+  public static boolean isBinaryEnabled() {
+    return !JSON_CODEC.equalsIgnoreCase(System.getProperty(CODEC_PROPERTY));
+  }
+
+  /**
+   * @param address service proxy address
+   * @return address on which the service consumes binary encoded messages
+   */
+  public static String binaryAddress(String address) {
+    return binaryAddress(address, DataObjectCodec.FORMAT_VERSION);
+  }
+
+  /**
+   * The format version is a part of the address, so a sender never reaches a consumer of another
+   * binary format version. The message is not delivered instead (<tt>NO_HANDLERS</tt>) and the
+   * sender falls back to the JSON messages.
+   *
+   * @param address service proxy address
+   * @param formatVersion version of the binary format
+   * @return address on which the service consumes messages encoded with the given format version
+   */
+  public static String binaryAddress(String address, int formatVersion) {
+    return address + BINARY_ADDRESS_SUFFIX + formatVersion;
+  }
+}
@@ -38,6 +38,12 @@ public class AdapterRequest {
     AdapterRequestConverter.fromJson(json, this);
   }
 
+  public AdapterRequest(AdapterRequest request) {
+    this.request = request.request == null ? null : new ClientRequest(request.request);
+    this.params = request.params == null ? null : request.params.copy();
+    this.adapterParams = request.adapterParams == null ? null : request.adapterParams.copy();
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     AdapterRequestConverter.toJson(this, json);
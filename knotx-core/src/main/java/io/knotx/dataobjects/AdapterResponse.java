@@ -36,6 +36,11 @@ public class AdapterResponse {
     AdapterResponseConverter.fromJson(json, this);
   }
 
+  public AdapterResponse(AdapterResponse response) {
+    this.response = response.response == null ? null : new ClientResponse(response.response);
+    this.signal = response.signal;
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     AdapterResponseConverter.toJson(this, json);
@@ -41,6 +41,8 @@ public class ClientRequest {
 
   private MultiMap formAttributes = MultiMap.caseInsensitiveMultiMap();
 
+  private long deadline;
+
   public ClientRequest() {
     //Nothing to set by default
   }
@@ -55,6 +57,7 @@ public class ClientRequest {
     this.headers = MultiMap.caseInsensitiveMultiMap().setAll(request.headers);
     this.params = MultiMap.caseInsensitiveMultiMap().setAll(request.params);
     this.formAttributes = MultiMap.caseInsensitiveMultiMap().setAll(request.formAttributes);
+    this.deadline = request.deadline;
   }
 
   public ClientRequest(HttpServerRequest serverRequest) {
@@ -122,6 +125,19 @@ public class ClientRequest {
     return this;
   }
 
+  /**
+   * @return time (epoch milliseconds) the processing of the request has to finish by, <tt>0</tt>
+   * when the request has no deadline
+   */
+  public long getDeadline() {
+    return deadline;
+  }
+
+  public ClientRequest setDeadline(long deadline) {
+    this.deadline = deadline;
+    return this;
+  }
+
   /**
    * Serialization variants of MultiMap fields
    **/
@@ -159,7 +175,8 @@ public class ClientRequest {
       return false;
     }
     ClientRequest that = (ClientRequest) o;
-    return Objects.equal(path, that.path) &&
+    return deadline == that.deadline &&
+        Objects.equal(path, that.path) &&
         Objects.equal(method, that.method) &&
         DataObjectsUtil.equalsMultiMap(headers, that.headers) &&
         DataObjectsUtil.equalsMultiMap(params, that.params) &&
@@ -168,7 +185,7 @@ public class ClientRequest {
 
   @Override
   public int hashCode() {
-    return 41 * Objects.hashCode(path, method) + 37 * DataObjectsUtil.multiMapHash(headers)
+    return 41 * Objects.hashCode(path, method, deadline) + 37 * DataObjectsUtil.multiMapHash(headers)
         + 31 * DataObjectsUtil.multiMapHash(params)
         + DataObjectsUtil.multiMapHash(formAttributes);
   }
@@ -181,6 +198,7 @@ public class ClientRequest {
         .add("headers", DataObjectsUtil.toString(headers))
         .add("params", DataObjectsUtil.toString(params))
         .add("formAttributes", DataObjectsUtil.toString(formAttributes))
+        .add("deadline", deadline)
         .toString();
   }
 
@@ -42,6 +42,16 @@ public class ClientResponse {
     ClientResponseConverter.fromJson(json, this);
   }
 
+  /**
+   * Creates a copy of the response. The body is not copied, it is replaced (never modified) with
+   * {@link #setBody(Buffer)}.
+   */
+  public ClientResponse(ClientResponse response) {
+    this.statusCode = response.statusCode;
+    this.headers = MultiMap.caseInsensitiveMultiMap().addAll(response.headers);
+    this.body = response.body;
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     ClientResponseConverter.toJson(this, json);
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.dataobjects;
+
+/**
+ * Read only view of a part of a template. Its {@link #toString()} copies the characters, so it is
+ * called only when a String is really needed.
+ */
+final class ContentSlice implements CharSequence {
+
+  private final String source;
+
+  private final int offset;
+
+  private final int length;
+
+  ContentSlice(String source, int start, int end) {
+    if (start < 0 || end > source.length() || start > end) {
+      throw new StringIndexOutOfBoundsException(
+          "Invalid slice [" + start + ", " + end + ") of " + source.length() + " characters");
+    }
+    this.source = source;
+    this.offset = start;
+    this.length = end - start;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new StringIndexOutOfBoundsException(index);
+    }
+    return source.charAt(offset + index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new StringIndexOutOfBoundsException(
+          "Invalid slice [" + start + ", " + end + ") of " + length + " characters");
+    }
+    return new ContentSlice(source, offset + start, offset + end);
+  }
+
+  @Override
+  public String toString() {
+    return source.substring(offset, offset + length);
+  }
+}
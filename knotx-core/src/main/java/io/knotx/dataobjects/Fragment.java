@@ -16,7 +16,9 @@
 package io.knotx.dataobjects;
 
 import com.google.common.base.Objects;
+import io.knotx.util.Fingerprint;
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import java.util.Collections;
@@ -38,8 +40,12 @@ public class Fragment {
   private static final String CONTEXT_KEY = "_CONTEXT";
 
   private final List<String> knots;
-  private final JsonObject context;
-  private String content;
+  private JsonObject context;
+  private Buffer contextBytes;
+  private boolean sharedContext;
+  private CharSequence content;
+  private Fingerprint fingerprint;
+  private Fingerprint contextFingerprint;
 
   public Fragment(JsonObject fragment) {
     this.knots = fragment.getJsonArray(KNOTS_KEY).stream().map(String::valueOf)
@@ -48,7 +54,68 @@ public class Fragment {
     this.context = fragment.getJsonObject(CONTEXT_KEY, new JsonObject());
   }
 
-  private Fragment(List<String> knots, String data) {
+  /**
+   * Recreates a Fragment from its parts, e.g. when it is decoded from the event bus. No validation
+   * is performed, the parts are expected to come from a valid Fragment.
+   */
+  public Fragment(List<String> knots, String content, JsonObject context) {
+    this(knots, content, context, null);
+  }
+
+  /**
+   * Recreates a Fragment from its parts together with the fingerprint of its content computed
+   * before, e.g. when it is decoded from the event bus.
+   */
+  public Fragment(List<String> knots, String content, JsonObject context,
+      Fingerprint fingerprint) {
+    this.knots = knots;
+    this.content = content;
+    this.context = context == null ? new JsonObject() : context;
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Recreates a Fragment from its parts with the markup content given as UTF-8 encoded bytes, e.g.
+   * when it is decoded from the event bus. The bytes are decoded only when the content is read as
+   * characters.
+   */
+  public Fragment(List<String> knots, Buffer content, JsonObject context,
+      Fingerprint fingerprint) {
+    this.knots = knots;
+    this.content = content == null ? null : new Utf8Content(content);
+    this.context = context == null ? new JsonObject() : context;
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Recreates a Fragment from its parts with the markup content and the context given as encoded
+   * bytes, e.g. when it is decoded from the event bus. The context is parsed only when {@link
+   * #context()} is called, until then it is available as {@link #contextBytes()}.
+   */
+  public Fragment(List<String> knots, Buffer content, Buffer context, Fingerprint fingerprint) {
+    this.knots = knots;
+    this.content = content == null ? null : new Utf8Content(content);
+    this.context = context == null ? new JsonObject() : null;
+    this.contextBytes = context;
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Creates a copy of the Fragment. The context is shared until the first call of {@link
+   * #context()} on either Fragment, which then works on its own copy of the context.
+   */
+  public Fragment(Fragment fragment) {
+    this.knots = fragment.knots;
+    this.content = fragment.content;
+    this.context = fragment.context;
+    this.contextBytes = fragment.contextBytes;
+    this.fingerprint = fragment.fingerprint;
+    this.contextFingerprint = fragment.contextFingerprint;
+    this.sharedContext = true;
+    fragment.markContextShared();
+  }
+
+  private Fragment(List<String> knots, CharSequence data) {
     if (knots == null || knots.isEmpty() || StringUtils.isEmpty(data)) {
       throw new NoSuchElementException("Fragment is not valid [" + knots + "], [" + data + "].");
     }
@@ -65,9 +132,35 @@ public class Fragment {
     return new Fragment(knots, data);
   }
 
+  /**
+   * Creates a static Fragment which content is a view of the template part, the markup is not
+   * copied until {@link #content()} is called.
+   *
+   * @param template the whole template
+   * @param start the beginning index of the fragment, inclusive
+   * @param end the ending index of the fragment, exclusive
+   */
+  public static Fragment raw(String template, int start, int end) {
+    return new Fragment(Collections.singletonList(RAW_FRAGMENT_ID),
+        new ContentSlice(template, start, end));
+  }
+
+  /**
+   * Creates a dynamic Fragment which content is a view of the template part, the markup is not
+   * copied until {@link #content()} is called.
+   *
+   * @param knots list of Knots identifiers
+   * @param template the whole template
+   * @param start the beginning index of the snippet, inclusive
+   * @param end the ending index of the snippet, exclusive
+   */
+  public static Fragment snippet(List<String> knots, String template, int start, int end) {
+    return new Fragment(knots, new ContentSlice(template, start, end));
+  }
+
   public JsonObject toJson() {
-    return new JsonObject().put(KNOTS_KEY, new JsonArray(knots)).put(CONTENT_KEY, content)
-        .put(CONTEXT_KEY, context);
+    return new JsonObject().put(KNOTS_KEY, new JsonArray(knots)).put(CONTENT_KEY, content())
+        .put(CONTEXT_KEY, contextValue());
   }
 
   /**
@@ -81,21 +174,140 @@ public class Fragment {
    * @return markup content of this fragment.
    */
   public String content() {
+    if (content instanceof ContentSlice) {
+      content = content.toString();
+    }
+    return content == null ? null : content.toString();
+  }
+
+  /**
+   * Returns the markup content without copying it when the Fragment is a view of the template.
+   * Prefer it over {@link #content()} when the markup is only read, e.g. written to the response.
+   *
+   * @return markup content of this fragment.
+   */
+  public CharSequence contentView() {
     return content;
   }
 
   public Fragment content(String content) {
     this.content = content;
+    this.fingerprint = null;
+    return this;
+  }
+
+  /**
+   * Sets the markup content given as UTF-8 encoded bytes, e.g. rendered straight into a buffer.
+   * The bytes are written to the event bus and to the response as they are, and decoded only when
+   * the content is read as characters.
+   *
+   * @param content UTF-8 encoded markup
+   * @return this Fragment
+   */
+  public Fragment content(Buffer content) {
+    this.content = new Utf8Content(content);
+    this.fingerprint = null;
+    return this;
+  }
+
+  /**
+   * @return UTF-8 encoded markup content if the Fragment holds its content as bytes, <tt>null</tt>
+   * otherwise
+   */
+  public Buffer contentBytes() {
+    return content instanceof Utf8Content ? ((Utf8Content) content).bytes() : null;
+  }
+
+  /**
+   * Returns the fingerprint of the markup content, computed once and reused e.g. as the cache key
+   * of templates compiled from the content. Copies of the Fragment share the fingerprint until
+   * their content is changed.
+   *
+   * @return fingerprint of the markup content
+   */
+  public Fingerprint fingerprint() {
+    if (fingerprint == null) {
+      fingerprint = Fingerprint.of(content);
+    }
+    return fingerprint;
+  }
+
+  /**
+   * @return fingerprint of the markup content if it was already computed, <tt>null</tt> otherwise
+   */
+  public Fingerprint fingerprintIfComputed() {
+    return fingerprint;
+  }
+
+  /**
+   * Returns the fingerprint of the context data set by the Knot that produced it, e.g. the Service
+   * Knot computes it from the keys of the service calls. Fragments of the same request with equal
+   * content fingerprints and equal context fingerprints render the same markup.
+   *
+   * @return fingerprint of the context data, <tt>null</tt> if it is not known
+   */
+  public Fingerprint contextFingerprint() {
+    return contextFingerprint;
+  }
+
+  /**
+   * Sets the fingerprint of the context data. It is reset by {@link #context()}, so it has to be
+   * set after the context is modified.
+   *
+   * @param contextFingerprint fingerprint of the context data or <tt>null</tt>
+   * @return this Fragment
+   */
+  public Fragment contextFingerprint(Fingerprint contextFingerprint) {
+    this.contextFingerprint = contextFingerprint;
     return this;
   }
 
   /**
    * @return a {@link JsonObject} containing the data produced during Knots chain processing and
    * used to exchange the context between them, e.g. ActionKnot can put there `action` context that
-   * contains data accumulated during action processing.
+   * contains data accumulated during action processing. The caller may modify the context, so the
+   * {@link #contextFingerprint()} is reset.
    */
   public JsonObject context() {
-    return context;
+    contextFingerprint = null;
+    if (sharedContext && contextBytes == null) {
+      context = context.copy();
+      sharedContext = false;
+    }
+    return contextValue();
+  }
+
+  /**
+   * Returns the context without copying it and without resetting the
+   * {@link #contextFingerprint()}. Prefer it over {@link #context()} when the context is only read,
+   * e.g. when a template is rendered with it. The context must not be modified.
+   *
+   * @return context of this fragment.
+   */
+  public JsonObject contextView() {
+    return contextValue();
+  }
+
+  /**
+   * Returns the context as JSON bytes when it was decoded from the event bus and not read since,
+   * so it can be read without building the {@link JsonObject} (e.g. by the Handlebars Knot) or sent
+   * further as it is. The bytes must not be modified.
+   *
+   * @return JSON encoded context or <tt>null</tt> when the context was already parsed
+   */
+  public Buffer contextBytes() {
+    return contextBytes;
+  }
+
+  /**
+   * Marks the context as shared, so the next call of {@link #context()} works on its own copy of
+   * the context. Used by caches handing out copies of the cached Fragment.
+   *
+   * @return this Fragment
+   */
+  public Fragment markContextShared() {
+    sharedContext = true;
+    return this;
   }
 
   /**
@@ -115,13 +327,22 @@ public class Fragment {
     }
     Fragment that = (Fragment) o;
     return Objects.equal(knots, that.knots) &&
-        Objects.equal(content, that.content) &&
-        Objects.equal(context, that.context);
+        StringUtils.equals(content, that.content) &&
+        Objects.equal(contextValue(), that.contextValue());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(knots, content, context);
+    return Objects.hashCode(knots, content(), contextValue());
+  }
+
+  private JsonObject contextValue() {
+    if (contextBytes != null) {
+      context = contextBytes.toJsonObject();
+      contextBytes = null;
+      sharedContext = false;
+    }
+    return context;
   }
 
   @Override
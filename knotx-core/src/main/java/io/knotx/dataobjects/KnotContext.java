@@ -22,6 +22,7 @@ import io.reactivex.Single;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @DataObject(generateConverter = true)
 public class KnotContext {
@@ -46,6 +47,20 @@ public class KnotContext {
     KnotContextConverter.fromJson(json, this);
   }
 
+  /**
+   * Creates a copy of the context that can be modified independently of the original one. Fragment
+   * contexts are copied lazily, see {@link Fragment#Fragment(Fragment)}.
+   */
+  public KnotContext(KnotContext knotContext) {
+    this.transition = knotContext.transition;
+    this.clientRequest =
+        knotContext.clientRequest == null ? null : new ClientRequest(knotContext.clientRequest);
+    this.clientResponse =
+        knotContext.clientResponse == null ? null : new ClientResponse(knotContext.clientResponse);
+    this.fragments = knotContext.fragments == null ? null
+        : knotContext.fragments.stream().map(Fragment::new).collect(Collectors.toList());
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     KnotContextConverter.toJson(this, json);
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.dataobjects;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Markup held as UTF-8 encoded bytes, e.g. rendered straight into a buffer or read from the event
+ * bus. The bytes are decoded once, when the characters are read for the first time.
+ */
+final class Utf8Content implements CharSequence {
+
+  private final Buffer bytes;
+
+  private String decoded;
+
+  Utf8Content(Buffer bytes) {
+    this.bytes = bytes;
+  }
+
+  Buffer bytes() {
+    return bytes;
+  }
+
+  @Override
+  public int length() {
+    return toString().length();
+  }
+
+  @Override
+  public char charAt(int index) {
+    return toString().charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return toString().subSequence(start, end);
+  }
+
+  @Override
+  public String toString() {
+    if (decoded == null) {
+      decoded = bytes.toString("UTF-8");
+    }
+    return decoded;
+  }
+}
@@ -80,7 +80,32 @@ public final class FragmentContentExtractor {
         FragmentConstants.DEBUG_MAX_FRAGMENT_CONTENT_LOG_LENGTH);
   }
 
+  /**
+   * Finds the end of the opening tag of the snippet. Attribute values may contain <tt>&gt;</tt>
+   * (e.g. the markup of <tt>data-knotx-fallback</tt>), so only characters outside of quoted values
+   * close the tag.
+   *
+   * @param content snippet markup
+   * @return index of the first character after the opening tag
+   */
+  public static int openingTagEnd(String content) {
+    char quote = 0;
+    for (int i = 0; i < content.length(); i++) {
+      char c = content.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == '>') {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
   private static String extractSnippetContent(String content) {
-    return content.substring(content.indexOf('>') + 1, content.lastIndexOf('<'));
+    return content.substring(openingTagEnd(content), content.lastIndexOf('<'));
   }
 }
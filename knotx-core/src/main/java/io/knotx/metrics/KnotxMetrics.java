@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.google.common.cache.Cache;
+import java.util.function.LongSupplier;
+
+/**
+ * Access to the Dropwizard metrics registry of Knot.x. The registry is registered in
+ * {@link SharedMetricRegistries} under the {@link #REGISTRY_NAME} name, so setting
+ * <tt>-Dvertx.metrics.options.registryName=knotx</tt> publishes Knot.x metrics together with the
+ * Vert.x ones (e.g. via JMX).
+ */
+public final class KnotxMetrics {
+
+  public static final String REGISTRY_NAME = "knotx";
+
+  private KnotxMetrics() {
+    //util constructor
+  }
+
+  public static MetricRegistry registry() {
+    return SharedMetricRegistries.getOrCreate(REGISTRY_NAME);
+  }
+
+  /**
+   * Registers the gauge, replacing the gauge registered with the same name before (e.g. by a
+   * previous deployment of the verticle).
+   */
+  public static synchronized <T> void gauge(String name, Gauge<T> gauge) {
+    MetricRegistry registry = registry();
+    registry.remove(name);
+    registry.register(name, gauge);
+  }
+
+  /**
+   * Registers gauges of a Guava cache built with <tt>recordStats()</tt>: <tt>hitRate</tt>,
+   * <tt>hits</tt>, <tt>misses</tt>, <tt>evictions</tt>, <tt>size</tt> (number of entries) and
+   * <tt>weight</tt> (as reported by the given supplier).
+   *
+   * @param prefix metric names prefix, e.g. <tt>knotx.splitter.cache</tt>
+   * @param cache monitored cache
+   * @param weight supplier of the cache weight, e.g. its size in bytes
+   */
+  public static void cacheGauges(String prefix, Cache<?, ?> cache, LongSupplier weight) {
+    gauge(MetricRegistry.name(prefix, "hitRate"), () -> cache.stats().hitRate());
+    gauge(MetricRegistry.name(prefix, "hits"), () -> cache.stats().hitCount());
+    gauge(MetricRegistry.name(prefix, "misses"), () -> cache.stats().missCount());
+    gauge(MetricRegistry.name(prefix, "evictions"), () -> cache.stats().evictionCount());
+    gauge(MetricRegistry.name(prefix, "size"), cache::size);
+    gauge(MetricRegistry.name(prefix, "weight"), weight::getAsLong);
+  }
+}
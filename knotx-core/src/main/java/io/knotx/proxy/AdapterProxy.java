@@ -29,11 +29,13 @@ import io.vertx.core.eventbus.DeliveryOptions;
 public interface AdapterProxy {
 
   static AdapterProxy createProxy(Vertx vertx, String address) {
-    return new AdapterProxyVertxEBProxy(vertx, address);
+    return createProxyWithOptions(vertx, address, new DeliveryOptions());
   }
 
   static AdapterProxy createProxyWithOptions(Vertx vertx, String address, DeliveryOptions deliveryOptions) {
-    return new AdapterProxyVertxEBProxy(vertx, address, deliveryOptions);
+    AdapterProxy jsonProxy = new AdapterProxyVertxEBProxy(vertx, address, deliveryOptions);
+    return KnotxProxyFactory.<AdapterRequest, AdapterResponse>create(vertx, address, deliveryOptions,
+        jsonProxy::process, AdapterRequest::new, AdapterResponse::new)::accept;
   }
 
   void process(AdapterRequest request, Handler<AsyncResult<AdapterResponse>> result);
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.KnotxCodecs;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import java.util.function.BiConsumer;
+
+/**
+ * Event bus proxy sending Knot.x data objects with the binary codec. When nobody consumes binary
+ * messages on the address (e.g. the service was registered with the plain
+ * {@link io.vertx.serviceproxy.ServiceBinder} or uses another version of the binary format, see
+ * {@link KnotxCodecs#binaryAddress(String, int)}), the request is sent with the generated JSON
+ * proxy instead, and the binary address is not tried again for a while.
+ *
+ * @param <Q> request type
+ * @param <R> response type
+ */
+class BinaryEBProxy<Q, R> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BinaryEBProxy.class);
+
+  private static final long JSON_FALLBACK_PERIOD_MS = 30_000L;
+
+  private final Vertx vertx;
+
+  private final String binaryAddress;
+
+  private final DeliveryOptions deliveryOptions;
+
+  private final BiConsumer<Q, Handler<AsyncResult<R>>> jsonProxy;
+
+  private volatile long jsonFallbackUntil;
+
+  BinaryEBProxy(Vertx vertx, String address, DeliveryOptions deliveryOptions,
+      BiConsumer<Q, Handler<AsyncResult<R>>> jsonProxy) {
+    KnotxCodecs.register(vertx);
+    this.vertx = vertx;
+    this.binaryAddress = KnotxCodecs.binaryAddress(address);
+    this.deliveryOptions = deliveryOptions == null ? new DeliveryOptions() : deliveryOptions;
+    this.jsonProxy = jsonProxy;
+  }
+
+  void process(Q request, Handler<AsyncResult<R>> result) {
+    if (System.currentTimeMillis() < jsonFallbackUntil) {
+      jsonProxy.accept(request, result);
+      return;
+    }
+    vertx.eventBus().<R>send(binaryAddress, request, deliveryOptions, reply -> {
+      if (reply.succeeded()) {
+        result.handle(Future.succeededFuture(reply.result().body()));
+      } else if (isNoHandlers(reply.cause())) {
+        LOGGER.debug("No binary consumer on [{}], falling back to JSON messages", binaryAddress);
+        jsonFallbackUntil = System.currentTimeMillis() + JSON_FALLBACK_PERIOD_MS;
+        jsonProxy.accept(request, result);
+      } else {
+        result.handle(Future.failedFuture(reply.cause()));
+      }
+    });
+  }
+
+  private static boolean isNoHandlers(Throwable cause) {
+    return cause instanceof ReplyException
+        && ((ReplyException) cause).failureType() == ReplyFailure.NO_HANDLERS;
+  }
+}
@@ -28,11 +28,13 @@ import io.vertx.core.eventbus.DeliveryOptions;
 public interface KnotProxy {
 
   static KnotProxy createProxy(Vertx vertx, String address) {
-    return new KnotProxyVertxEBProxy(vertx, address);
+    return createProxyWithOptions(vertx, address, new DeliveryOptions());
   }
 
   static KnotProxy createProxyWithOptions(Vertx vertx, String address, DeliveryOptions deliveryOptions) {
-    return new KnotProxyVertxEBProxy(vertx, address, deliveryOptions);
+    KnotProxy jsonProxy = new KnotProxyVertxEBProxy(vertx, address, deliveryOptions);
+    return KnotxProxyFactory.<KnotContext, KnotContext>create(vertx, address, deliveryOptions,
+        jsonProxy::process, KnotContext::new, KnotContext::new)::accept;
   }
 
   void process(KnotContext knotContext, Handler<AsyncResult<KnotContext>> result);
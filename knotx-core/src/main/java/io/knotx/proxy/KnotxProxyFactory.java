@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.KnotxCodecs;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Composes the proxies of Knot.x services: local invocation when the service is deployed in the
+ * same Vert.x instance, binary event bus messages otherwise, JSON messages as the last resort.
+ */
+final class KnotxProxyFactory {
+
+  private KnotxProxyFactory() {
+    //util constructor
+  }
+
+  static <Q, R> BiConsumer<Q, Handler<AsyncResult<R>>> create(Vertx vertx, String address,
+      DeliveryOptions deliveryOptions, BiConsumer<Q, Handler<AsyncResult<R>>> jsonProxy,
+      UnaryOperator<Q> requestCopy, UnaryOperator<R> responseCopy) {
+    BiConsumer<Q, Handler<AsyncResult<R>>> remoteProxy = jsonProxy;
+    if (KnotxCodecs.isBinaryEnabled()) {
+      remoteProxy = new BinaryEBProxy<>(vertx, address, deliveryOptions, jsonProxy)::process;
+    }
+    return new LocalServiceProxy<>(vertx, address, deliveryOptions, requestCopy, responseCopy,
+        remoteProxy)::process;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.KnotxCodecs;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.ServiceBinder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Registers Knot.x services on the event bus. Next to the JSON consumer created by
+ * {@link ServiceBinder} (used by the generated proxies), a consumer of binary encoded data objects
+ * is registered, see {@link KnotxCodecs}. The service is also registered in the local registry, so
+ * proxies created in the same Vert.x instance call it directly, without the event bus.
+ */
+public class KnotxServiceBinder {
+
+  private final Vertx vertx;
+
+  private final ServiceBinder serviceBinder;
+
+  private final Map<MessageConsumer<JsonObject>, Registration> registrations = new HashMap<>();
+
+  private String address;
+
+  public KnotxServiceBinder(Vertx vertx) {
+    KnotxCodecs.register(vertx);
+    this.vertx = vertx;
+    this.serviceBinder = new ServiceBinder(vertx);
+  }
+
+  public KnotxServiceBinder setAddress(String address) {
+    this.address = address;
+    serviceBinder.setAddress(address);
+    return this;
+  }
+
+  public <T> MessageConsumer<JsonObject> register(Class<T> clazz, T service) {
+    MessageConsumer<JsonObject> consumer = serviceBinder.register(clazz, service);
+    BiConsumer<?, ?> invoker = invoker(service);
+    if (invoker != null) {
+      registrations.put(consumer, new Registration(address, binaryConsumer(invoker),
+          LocalServices.register(vertx, address, invoker)));
+    }
+    return consumer;
+  }
+
+  public void unregister(MessageConsumer<JsonObject> consumer) {
+    Registration registration = registrations.remove(consumer);
+    if (registration != null) {
+      LocalServices.unregister(vertx, registration.address, registration.localService);
+      registration.binaryConsumer.unregister();
+    }
+    serviceBinder.unregister(consumer);
+  }
+
+  private BiConsumer<?, ?> invoker(Object service) {
+    BiConsumer<?, ?> result = null;
+    if (service instanceof KnotProxy) {
+      result = processOf(((KnotProxy) service)::process);
+    } else if (service instanceof AdapterProxy) {
+      result = processOf(((AdapterProxy) service)::process);
+    } else if (service instanceof RepositoryConnectorProxy) {
+      result = processOf(((RepositoryConnectorProxy) service)::process);
+    }
+    return result;
+  }
+
+  private static <Q, R> BiConsumer<Q, Handler<AsyncResult<R>>> processOf(
+      BiConsumer<Q, Handler<AsyncResult<R>>> process) {
+    return process;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <Q, R> MessageConsumer<Q> binaryConsumer(BiConsumer<?, ?> invoker) {
+    BiConsumer<Q, Handler<AsyncResult<R>>> service =
+        (BiConsumer<Q, Handler<AsyncResult<R>>>) invoker;
+    return vertx.eventBus().consumer(KnotxCodecs.binaryAddress(address), message -> {
+      try {
+        service.accept(message.body(), result -> {
+          if (result.succeeded()) {
+            message.reply(result.result());
+          } else {
+            message.reply(ServiceFailures.failed(result.cause()));
+          }
+        });
+      } catch (Exception e) {
+        message.reply(ServiceFailures.thrown(e));
+      }
+    });
+  }
+
+  private static class Registration {
+
+    private final String address;
+
+    private final MessageConsumer<?> binaryConsumer;
+
+    private final LocalServices.LocalService localService;
+
+    private Registration(String address, MessageConsumer<?> binaryConsumer,
+        LocalServices.LocalService localService) {
+      this.address = address;
+      this.binaryConsumer = binaryConsumer;
+      this.localService = localService;
+    }
+  }
+}
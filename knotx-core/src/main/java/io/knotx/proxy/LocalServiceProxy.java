@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.proxy.LocalServices.LocalService;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Proxy calling the service directly when its address is served in the same Vert.x instance and
+ * using the event bus proxy otherwise.
+ * <p>
+ * The service gets its own copy of the request and the caller gets its own copy of the response,
+ * exactly as if they were sent over the event bus. The service is always invoked on the context it
+ * was registered on and the result is handled on the caller context. The delivery options timeout
+ * is respected and failures are reported as {@link io.vertx.serviceproxy.ServiceException}s.
+ *
+ * @param <Q> request type
+ * @param <R> response type
+ */
+class LocalServiceProxy<Q, R> {
+
+  private final Vertx vertx;
+
+  private final String address;
+
+  private final long timeout;
+
+  private final UnaryOperator<Q> requestCopy;
+
+  private final UnaryOperator<R> responseCopy;
+
+  private final BiConsumer<Q, Handler<AsyncResult<R>>> remoteProxy;
+
+  LocalServiceProxy(Vertx vertx, String address, DeliveryOptions deliveryOptions,
+      UnaryOperator<Q> requestCopy, UnaryOperator<R> responseCopy,
+      BiConsumer<Q, Handler<AsyncResult<R>>> remoteProxy) {
+    this.vertx = vertx;
+    this.address = address;
+    this.timeout = deliveryOptions == null ? DeliveryOptions.DEFAULT_TIMEOUT
+        : deliveryOptions.getSendTimeout();
+    this.requestCopy = requestCopy;
+    this.responseCopy = responseCopy;
+    this.remoteProxy = remoteProxy;
+  }
+
+  void process(Q request, Handler<AsyncResult<R>> result) {
+    LocalService localService = LocalServices.lookup(vertx, address);
+    if (localService == null) {
+      remoteProxy.accept(request, result);
+    } else {
+      invoke(localService, requestCopy.apply(request), result);
+    }
+  }
+
+  private void invoke(LocalService localService, Q request, Handler<AsyncResult<R>> result) {
+    Context callerContext = Vertx.currentContext();
+    AtomicBoolean replied = new AtomicBoolean();
+    long timerId = vertx.setTimer(timeout, id -> {
+      if (replied.compareAndSet(false, true)) {
+        result.handle(Future.failedFuture(new ReplyException(ReplyFailure.TIMEOUT,
+            "Timed out after waiting " + timeout + "(ms) for a reply. address: " + address)));
+      }
+    });
+    Handler<AsyncResult<R>> reply = response -> {
+      if (replied.compareAndSet(false, true)) {
+        vertx.cancelTimer(timerId);
+        AsyncResult<R> copied = response.succeeded()
+            ? Future.succeededFuture(copy(response.result()))
+            : Future.failedFuture(ServiceFailures.failed(response.cause()));
+        runOn(callerContext, () -> result.handle(copied));
+      }
+    };
+    runOn(localService.context(), () -> {
+      try {
+        localService.invoke(request, reply);
+      } catch (Exception e) {
+        reply.handle(Future.failedFuture(ServiceFailures.thrown(e)));
+      }
+    });
+  }
+
+  private R copy(R response) {
+    return response == null ? null : responseCopy.apply(response);
+  }
+
+  private static void runOn(Context context, Runnable action) {
+    if (context == null || context == Vertx.currentContext()) {
+      action.run();
+    } else {
+      context.runOnContext(v -> action.run());
+    }
+  }
+}
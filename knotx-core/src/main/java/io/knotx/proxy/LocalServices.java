@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Registry of the services registered with {@link KnotxServiceBinder} in this Vert.x instance,
+ * kept in a {@link LocalMap} under the service address.
+ */
+final class LocalServices {
+
+  private static final String MAP_NAME = "knotx.proxy.localServices";
+
+  private LocalServices() {
+    //util constructor
+  }
+
+  static LocalService register(Vertx vertx, String address, BiConsumer<?, ?> service) {
+    LocalMap<String, Instances> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    Instances instances = map.get(address);
+    if (instances == null) {
+      Instances created = new Instances();
+      instances = map.putIfAbsent(address, created);
+      if (instances == null) {
+        instances = created;
+      }
+    }
+    LocalService localService = new LocalService(vertx.getOrCreateContext(), service);
+    instances.services.add(localService);
+    return localService;
+  }
+
+  static void unregister(Vertx vertx, String address, LocalService localService) {
+    LocalMap<String, Instances> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    Instances instances = map.get(address);
+    if (instances != null) {
+      instances.services.remove(localService);
+    }
+  }
+
+  /**
+   * @return service instance deployed on the current context if there is one, any other instance
+   * (in round robin fashion) otherwise, <tt>null</tt> when the address is not served locally
+   */
+  static LocalService lookup(Vertx vertx, String address) {
+    LocalMap<String, Instances> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    Instances instances = map.get(address);
+    return instances == null ? null : instances.next(Vertx.currentContext());
+  }
+
+  static class LocalService {
+
+    private final Context context;
+
+    private final BiConsumer<?, ?> service;
+
+    private LocalService(Context context, BiConsumer<?, ?> service) {
+      this.context = context;
+      this.service = service;
+    }
+
+    Context context() {
+      return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    <Q, R> void invoke(Q request, Handler<AsyncResult<R>> result) {
+      ((BiConsumer<Q, Handler<AsyncResult<R>>>) service).accept(request, result);
+    }
+  }
+
+  private static class Instances implements Shareable {
+
+    private final List<LocalService> services = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private LocalService next(Context current) {
+      Object[] snapshot = services.toArray();
+      if (snapshot.length == 0) {
+        return null;
+      }
+      for (Object service : snapshot) {
+        if (((LocalService) service).context == current) {
+          return (LocalService) service;
+        }
+      }
+      int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % snapshot.length;
+      return (LocalService) snapshot[index];
+    }
+  }
+}
@@ -29,11 +29,13 @@ import io.vertx.core.eventbus.DeliveryOptions;
 public interface RepositoryConnectorProxy {
 
   static RepositoryConnectorProxy createProxy(Vertx vertx, String address) {
-    return new RepositoryConnectorProxyVertxEBProxy(vertx, address);
+    return createProxyWithOptions(vertx, address, new DeliveryOptions());
   }
 
   static RepositoryConnectorProxy createProxyWithOptions(Vertx vertx, String address, DeliveryOptions deliveryOptions) {
-    return new RepositoryConnectorProxyVertxEBProxy(vertx, address, deliveryOptions);
+    RepositoryConnectorProxy jsonProxy = new RepositoryConnectorProxyVertxEBProxy(vertx, address, deliveryOptions);
+    return KnotxProxyFactory.<ClientRequest, ClientResponse>create(vertx, address, deliveryOptions,
+        jsonProxy::process, ClientRequest::new, ClientResponse::new)::accept;
   }
 
   void process(ClientRequest request, Handler<AsyncResult<ClientResponse>> result);
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.vertx.serviceproxy.ServiceException;
+
+/**
+ * Maps failures of a service to the {@link ServiceException} the caller gets, the same way the
+ * generated proxy handlers do. Binary and local calls fail exactly like the calls of the generated
+ * event bus proxies.
+ */
+final class ServiceFailures {
+
+  private ServiceFailures() {
+    // utility class
+  }
+
+  /**
+   * @param cause failure the service handled the result with
+   * @return the cause when it is a {@link ServiceException}, otherwise a service exception with
+   * <tt>-1</tt> failure code and the cause message
+   */
+  static ServiceException failed(Throwable cause) {
+    return cause instanceof ServiceException
+        ? (ServiceException) cause
+        : new ServiceException(-1, cause.getMessage());
+  }
+
+  /**
+   * @param e exception thrown by the service
+   * @return a service exception with <tt>500</tt> failure code and the exception message
+   */
+  static ServiceException thrown(Exception e) {
+    return new ServiceException(500, e.getMessage());
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.util;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers of the request deadline ({@link ClientRequest#getDeadline()}). Every hop shrinks its own
+ * timeout to the time left, so a request fails as soon as its latency budget is spent instead of
+ * waiting for the full timeout at each hop.
+ */
+public final class Deadlines {
+
+  public static final long NONE = 0L;
+
+  private Deadlines() {
+    //util constructor
+  }
+
+  /**
+   * @return deadline of the processing starting now and lasting <tt>timeout</tt> ms at most,
+   * {@link #NONE} when the timeout is not positive
+   */
+  public static long after(long timeout) {
+    return timeout > 0 ? System.currentTimeMillis() + timeout : NONE;
+  }
+
+  /**
+   * @return <tt>timeout</tt> shrunk to the time left to the deadline of the request (not positive
+   * when the deadline has passed), <tt>timeout</tt> itself when the request has no deadline
+   */
+  public static long timeLeft(ClientRequest request, long timeout) {
+    if (request == null || request.getDeadline() == NONE) {
+      return timeout;
+    }
+    long timeLeft = request.getDeadline() - System.currentTimeMillis();
+    return timeout > 0 ? Math.min(timeout, timeLeft) : timeLeft;
+  }
+
+  public static boolean isExpired(ClientRequest request) {
+    return request != null && request.getDeadline() != NONE
+        && request.getDeadline() <= System.currentTimeMillis();
+  }
+
+  /**
+   * Limits the call to the time left to the deadline of the request. The call is not even
+   * subscribed when the deadline has already passed.
+   *
+   * @return call failing with {@link TimeoutException} when the deadline is exceeded
+   */
+  public static <T> Single<T> limit(Single<T> call, ClientRequest request, Scheduler scheduler) {
+    if (request == null || request.getDeadline() == NONE) {
+      return call;
+    }
+    return Single.defer(() -> {
+      long timeLeft = request.getDeadline() - System.currentTimeMillis();
+      return timeLeft > 0
+          ? call.timeout(timeLeft, TimeUnit.MILLISECONDS, scheduler)
+          : Single.error(exceeded(request));
+    });
+  }
+
+  public static TimeoutException exceeded(ClientRequest request) {
+    return new TimeoutException("Deadline of the request [" + request.getPath() + "] exceeded");
+  }
+}
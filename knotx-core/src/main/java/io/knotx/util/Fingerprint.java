@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.util;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Non-cryptographic 128-bit fingerprint (murmur3) of a content, used as the cache key of templates
+ * and fragments. Fingerprints are immutable and thread-safe.
+ * <p>
+ * Fingerprints of the same text computed from its chars ({@link #of(CharSequence)}) and from its
+ * bytes ({@link #of(Buffer)}) are different.
+ */
+public final class Fingerprint {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final long high;
+
+  private final long low;
+
+  public Fingerprint(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  /**
+   * @return fingerprint of the chars, the content is not copied
+   */
+  public static Fingerprint of(CharSequence content) {
+    return of(HASH_FUNCTION.hashUnencodedChars(content));
+  }
+
+  /**
+   * @return fingerprint of the bytes, the buffer is not copied when it is backed by an array
+   */
+  public static Fingerprint of(Buffer buffer) {
+    Hasher hasher = HASH_FUNCTION.newHasher();
+    ByteBuf byteBuf = buffer.getByteBuf();
+    if (byteBuf.hasArray()) {
+      hasher.putBytes(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(),
+          byteBuf.readableBytes());
+    } else {
+      hasher.putBytes(buffer.getBytes());
+    }
+    return of(hasher.hash());
+  }
+
+  private static Fingerprint of(HashCode hash) {
+    ByteBuffer bytes = ByteBuffer.wrap(hash.asBytes());
+    return new Fingerprint(bytes.getLong(), bytes.getLong());
+  }
+
+  public long getHigh() {
+    return high;
+  }
+
+  public long getLow() {
+    return low;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Fingerprint)) {
+      return false;
+    }
+    Fingerprint that = (Fingerprint) o;
+    return high == that.high && low == that.low;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (low ^ (low >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%016x%016x", high, low);
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import io.knotx.dataobjects.AdapterRequest;
+import io.knotx.dataobjects.AdapterResponse;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.util.Fingerprint;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import java.util.Arrays;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class DataObjectCodecTest {
+
+  private final DataObjectCodec<KnotContext> knotContextCodec = new DataObjectCodec<>(
+      "test.KnotContext", DataObjectsFormat::writeKnotContext, DataObjectsFormat::readKnotContext);
+
+  private final DataObjectCodec<AdapterRequest> adapterRequestCodec = new DataObjectCodec<>(
+      "test.AdapterRequest", DataObjectsFormat::writeAdapterRequest,
+      DataObjectsFormat::readAdapterRequest);
+
+  private final DataObjectCodec<AdapterResponse> adapterResponseCodec = new DataObjectCodec<>(
+      "test.AdapterResponse", DataObjectsFormat::writeAdapterResponse,
+      DataObjectsFormat::readAdapterResponse);
+
+  @Test
+  public void decodeFromWire_whenFullKnotContext_expectEqualKnotContext() {
+    KnotContext knotContext = new KnotContext()
+        .setTransition("next")
+        .setClientRequest(clientRequest())
+        .setClientResponse(clientResponse())
+        .setFragments(Arrays.asList(
+            Fragment.raw("<html>"),
+            Fragment.snippet(Arrays.asList("services", "handlebars"), "<script>{{name}}</script>"),
+            Fragment.snippet(Arrays.asList("services", "handlebars"), "<div>zażółć</div>"),
+            Fragment.raw("</html>")));
+    knotContext.getFragments().get(1).context().put("_result", new JsonObject().put("a", 1));
+
+    assertThat(roundTrip(knotContextCodec, knotContext), equalTo(knotContext));
+  }
+
+  @Test
+  public void decodeFromWire_whenFragmentIsTemplateView_expectContentSentWithoutCopying() {
+    // non-ASCII characters, including surrogate pairs, cross the boundaries of encoded chunks
+    String template = "<html>" + StringUtils.repeat("zażółć \uD83D\uDE00 ", 2000) + "</html>";
+    Fragment view = Fragment.snippet(Arrays.asList("services", "handlebars"), template, 6,
+        template.length() - 7);
+    KnotContext knotContext = new KnotContext().setFragments(Arrays.asList(view));
+
+    KnotContext decoded = roundTrip(knotContextCodec, knotContext);
+
+    assertThat(decoded.getFragments().get(0).content(), equalTo(template.substring(6,
+        template.length() - 7)));
+    assertThat(view.contentView(), not(instanceOf(String.class)));
+  }
+
+  @Test
+  public void decodeFromWire_whenEmptyKnotContext_expectEqualKnotContext() {
+    KnotContext knotContext = new KnotContext();
+
+    assertThat(roundTrip(knotContextCodec, knotContext), equalTo(knotContext));
+  }
+
+  @Test
+  public void decodeFromWire_whenBufferHasPrecedingData_expectPayloadReadFromPosition() {
+    KnotContext knotContext = new KnotContext().setTransition("go-b");
+    Buffer buffer = Buffer.buffer("some preceding data");
+    int position = buffer.length();
+
+    knotContextCodec.encodeToWire(buffer, knotContext);
+
+    assertThat(knotContextCodec.decodeFromWire(position, buffer), equalTo(knotContext));
+  }
+
+  @Test
+  public void transform_expectEqualCopy() {
+    KnotContext knotContext = new KnotContext()
+        .setClientRequest(clientRequest())
+        .setFragments(Arrays.asList(Fragment.raw("<p>static</p>")));
+
+    KnotContext copy = knotContextCodec.transform(knotContext);
+
+    assertThat(copy, equalTo(knotContext));
+    assertThat(copy, not(sameInstance(knotContext)));
+  }
+
+  @Test
+  public void decodeFromWire_whenAdapterRequest_expectEqualAdapterRequest() {
+    AdapterRequest request = new AdapterRequest()
+        .setRequest(clientRequest())
+        .setParams(new JsonObject().put("path", "/service/mock/first.json"))
+        .setAdapterParams(new JsonObject().put("param", "value"));
+
+    assertThat(roundTrip(adapterRequestCodec, request), equalTo(request));
+  }
+
+  @Test
+  public void decodeFromWire_whenRequestHasDeadline_expectDeadlineKept() {
+    AdapterRequest request = new AdapterRequest().setRequest(clientRequest());
+
+    assertThat(roundTrip(adapterRequestCodec, request).getRequest().getDeadline(),
+        equalTo(1500000000000L));
+  }
+
+  @Test
+  public void decodeFromWire_whenFragmentFingerprintComputed_expectFingerprintKept() {
+    Fragment snippet = Fragment
+        .snippet(Arrays.asList("services", "handlebars"), "<script>{{name}}</script>");
+    KnotContext knotContext = new KnotContext()
+        .setFragments(Arrays.asList(snippet, Fragment.raw("<p>static</p>")));
+    Fingerprint fingerprint = snippet.fingerprint();
+
+    KnotContext decoded = roundTrip(knotContextCodec, knotContext);
+
+    assertThat(decoded.getFragments().get(0).fingerprintIfComputed(), equalTo(fingerprint));
+    assertThat(decoded.getFragments().get(1).fingerprintIfComputed(), nullValue());
+  }
+
+  @Test
+  public void decodeFromWire_whenContextNotRead_expectContextBytesForwarded() {
+    Fragment snippet = Fragment
+        .snippet(Arrays.asList("services", "handlebars"), "<script>{{name}}</script>");
+    snippet.context().put("_result", new JsonObject().put("name", "zażółć"));
+    KnotContext knotContext = new KnotContext().setFragments(Arrays.asList(snippet));
+
+    KnotContext decoded = roundTrip(knotContextCodec, roundTrip(knotContextCodec, knotContext));
+    Fragment fragment = decoded.getFragments().get(0);
+
+    assertThat(fragment.contextBytes(), equalTo(Buffer.buffer(snippet.context().encode())));
+    assertThat(fragment.context(), equalTo(snippet.context()));
+    assertThat(fragment.contextBytes(), nullValue());
+  }
+
+  @Test
+  public void decodeFromWire_whenContextFingerprintSet_expectContextFingerprintKept() {
+    Fingerprint contextFingerprint = Fingerprint.of("_result=first-service");
+    Fragment snippet = Fragment
+        .snippet(Arrays.asList("services", "handlebars"), "<script>{{name}}</script>")
+        .contextFingerprint(contextFingerprint);
+    KnotContext knotContext = new KnotContext()
+        .setFragments(Arrays.asList(snippet, Fragment.raw("<p>static</p>")));
+
+    KnotContext decoded = roundTrip(knotContextCodec, knotContext);
+
+    assertThat(decoded.getFragments().get(0).contextFingerprint(), equalTo(contextFingerprint));
+    assertThat(decoded.getFragments().get(1).contextFingerprint(), nullValue());
+  }
+
+  @Test
+  public void decodeFromWire_whenFragmentContentHeldAsBytes_expectSameContent() {
+    Fragment rendered = Fragment
+        .snippet(Arrays.asList("services", "handlebars"), "<script>{{name}}</script>")
+        .content(Buffer.buffer("<div>zażółć</div>"));
+    KnotContext knotContext = new KnotContext()
+        .setFragments(Arrays.asList(rendered, Fragment.raw("<p>static</p>")));
+
+    KnotContext decoded = roundTrip(knotContextCodec, knotContext);
+
+    assertThat(decoded.getFragments().get(0).contentBytes(),
+        equalTo(Buffer.buffer("<div>zażółć</div>")));
+    assertThat(decoded.getFragments().get(0).content(), equalTo("<div>zażółć</div>"));
+    assertThat(decoded.getFragments().get(1).content(), equalTo("<p>static</p>"));
+  }
+
+  @Test
+  public void decodeFromWire_whenAdapterResponse_expectEqualAdapterResponse() {
+    AdapterResponse response = new AdapterResponse()
+        .setResponse(clientResponse())
+        .setSignal("next");
+
+    assertThat(roundTrip(adapterResponseCodec, response), equalTo(response));
+  }
+
+  private <T> T roundTrip(DataObjectCodec<T> codec, T value) {
+    Buffer buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, value);
+    return codec.decodeFromWire(0, buffer);
+  }
+
+  private ClientRequest clientRequest() {
+    return new ClientRequest()
+        .setPath("/content/local/simple.html")
+        .setMethod(HttpMethod.POST)
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Accept", "text/html")
+            .add("Cookie", "a=1").add("Cookie", "b=2"))
+        .setParams(MultiMap.caseInsensitiveMultiMap().add("q", "zażółć"))
+        .setFormAttributes(MultiMap.caseInsensitiveMultiMap().add("_frmId", "form-1"))
+        .setDeadline(1500000000000L);
+  }
+
+  private ClientResponse clientResponse() {
+    return new ClientResponse()
+        .setStatusCode(200)
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Content-Type", "text/html"))
+        .setBody(Buffer.buffer("<html><body>body</body></html>"));
+  }
+}
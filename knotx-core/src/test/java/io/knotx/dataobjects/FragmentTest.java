@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.dataobjects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import io.knotx.util.Fingerprint;
+import io.vertx.core.buffer.Buffer;
+import java.util.Collections;
+import org.junit.Test;
+
+public class FragmentTest {
+
+  private static final String TEMPLATE =
+      "<html><script data-knotx-knots=\"services\">{{a}}</script></html>";
+
+  @Test
+  public void raw_whenTemplateView_expectContentOfTheSlice() {
+    Fragment fragment = Fragment.raw(TEMPLATE, 0, 6);
+
+    assertThat(fragment.contentView().length(), equalTo(6));
+    assertThat(fragment.content(), equalTo("<html>"));
+  }
+
+  @Test
+  public void snippet_whenTemplateView_expectEqualToCopiedSnippet() {
+    Fragment view = Fragment.snippet(Collections.singletonList("services"), TEMPLATE, 6, 56);
+    Fragment copied = Fragment.snippet(Collections.singletonList("services"),
+        TEMPLATE.substring(6, 56));
+
+    assertThat(view, equalTo(copied));
+    assertThat(view.hashCode(), equalTo(copied.hashCode()));
+    assertThat(view.toJson(), equalTo(copied.toJson()));
+  }
+
+  @Test
+  public void content_whenViewModified_expectTemplateUntouched() {
+    Fragment fragment = Fragment.raw(TEMPLATE, 56, TEMPLATE.length());
+
+    fragment.content("<body></html>");
+
+    assertThat(fragment.contentView().toString(), equalTo("<body></html>"));
+    assertThat(Fragment.raw(TEMPLATE, 56, TEMPLATE.length()).content(), equalTo("</html>"));
+  }
+
+  @Test
+  public void content_whenBytes_expectDecodedContentEqualToString() {
+    Fragment bytes = Fragment.snippet(Collections.singletonList("handlebars"), TEMPLATE)
+        .content(Buffer.buffer("<p>zażółć</p>"));
+    Fragment chars = Fragment.snippet(Collections.singletonList("handlebars"), TEMPLATE)
+        .content("<p>zażółć</p>");
+
+    assertThat(bytes.contentView().length(), equalTo(13));
+    assertThat(bytes, equalTo(chars));
+    assertThat(bytes.fingerprint(), equalTo(chars.fingerprint()));
+    assertThat(bytes.contentBytes(), equalTo(Buffer.buffer("<p>zażółć</p>")));
+  }
+
+  @Test
+  public void context_whenContextFingerprintSet_expectFingerprintReset() {
+    Fragment fragment = Fragment.snippet(Collections.singletonList("handlebars"), TEMPLATE)
+        .contextFingerprint(Fingerprint.of("services=offers"));
+
+    fragment.contextView();
+    assertThat(fragment.contextFingerprint(), equalTo(Fingerprint.of("services=offers")));
+
+    fragment.context().put("offers", "changed");
+    assertThat(fragment.contextFingerprint(), nullValue());
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.dataobjects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+public class KnotContextTest {
+
+  @Test
+  public void copy_expectEqualContext() {
+    KnotContext knotContext = knotContext();
+
+    assertThat(new KnotContext(knotContext), equalTo(knotContext));
+  }
+
+  @Test
+  public void copy_whenCopyFragmentContextModified_expectOriginalUntouched() {
+    KnotContext original = knotContext();
+    KnotContext copy = new KnotContext(original);
+
+    copy.getFragments().get(1).context().put("_result", new JsonObject().put("a", 2));
+
+    assertThat(original.getFragments().get(1).context().getJsonObject("_result").getInteger("a"),
+        equalTo(1));
+    assertThat(copy.getFragments().get(1), not(equalTo(original.getFragments().get(1))));
+  }
+
+  @Test
+  public void copy_whenOriginalFragmentModified_expectCopyUntouched() {
+    KnotContext original = knotContext();
+    KnotContext copy = new KnotContext(original);
+
+    original.getFragments().get(1).context().remove("_result");
+    original.getFragments().get(1).content("<p>changed</p>");
+
+    assertThat(copy.getFragments().get(1).context().containsKey("_result"), equalTo(true));
+    assertThat(copy.getFragments().get(1).content(), equalTo("<script>{{a}}</script>"));
+  }
+
+  @Test
+  public void copy_whenCopyRequestHeadersModified_expectOriginalUntouched() {
+    KnotContext original = knotContext();
+    KnotContext copy = new KnotContext(original);
+
+    copy.getClientRequest().getHeaders().add("X-Test", "value");
+
+    assertThat(original.getClientRequest().getHeaders().contains("X-Test"), equalTo(false));
+  }
+
+  private KnotContext knotContext() {
+    KnotContext knotContext = new KnotContext()
+        .setClientRequest(new ClientRequest().setPath("/content/local/simple.html")
+            .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Accept", "text/html")))
+        .setFragments(Arrays.asList(
+            Fragment.raw("<html>"),
+            Fragment.snippet(Collections.singletonList("services"), "<script>{{a}}</script>")));
+    knotContext.getFragments().get(1).context().put("_result", new JsonObject().put("a", 1));
+    return knotContext;
+  }
+}
@@ -16,6 +16,7 @@
 package io.knotx.fragments;
 
 import static io.knotx.util.IsEqualApplyingHtmlFormattingMatcher.equalsToWithHtmlFormatting;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.equalToIgnoringWhiteSpace;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -109,6 +110,17 @@ public class FragmentContentExtractorTest {
     return fragmentMock;
   }
 
+  @TestWith(value = {
+      "<script data-knotx-knots=\"services\">{{a}}</script>;36",
+      "<script data-knotx-fallback=\"<p>a > b</p>\" type=\"text/knotx-snippet\">{{a}}</script>;69",
+      "<script data-knotx-fallback='<p class=\"x\">></p>'>{{a}}</script>;49"
+  })
+  public void openingTagEnd_whenAttributesContainTagEnd_expectEndOfOpeningTag(String snippet,
+      int expectedEnd) throws Exception {
+    assertThat(FragmentContentExtractor.openingTagEnd(snippet), equalTo(expectedEnd));
+    assertThat(snippet.substring(expectedEnd), equalTo("{{a}}</script>"));
+  }
+
   private String readText(String path) throws IOException {
     return CharStreams
         .toString(new InputStreamReader(Resources.getResource(path).openStream(), "utf-8"));
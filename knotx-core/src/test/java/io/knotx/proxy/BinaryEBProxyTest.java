@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.KnotxCodecs;
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import java.util.function.BiConsumer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class BinaryEBProxyTest {
+
+  private static final String ADDRESS = "knotx.test.binary-proxy";
+
+  private static final int OTHER_FORMAT_VERSION = 0;
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Test
+  public void process_whenConsumerOfSameFormatVersion_expectBinaryMessage(TestContext context) {
+    KnotxCodecs.register(vertx.vertx());
+    vertx.vertx().eventBus().<KnotContext>consumer(KnotxCodecs.binaryAddress(ADDRESS),
+        message -> message.reply(message.body().setTransition("binary")));
+
+    proxy((request, result) -> context.fail("JSON proxy should not be used"))
+        .process(new KnotContext(), context.asyncAssertSuccess(response ->
+            context.assertEquals("binary", response.getTransition())));
+  }
+
+  @Test
+  public void process_whenOnlyConsumerOfOtherFormatVersion_expectJsonFallback(
+      TestContext context) {
+    KnotxCodecs.register(vertx.vertx());
+    vertx.vertx().eventBus()
+        .<KnotContext>consumer(KnotxCodecs.binaryAddress(ADDRESS, OTHER_FORMAT_VERSION),
+            message -> context.fail("Peer of other format version should not be called"));
+
+    proxy((request, result) -> result
+        .handle(Future.succeededFuture(new KnotContext().setTransition("json"))))
+        .process(new KnotContext(), context.asyncAssertSuccess(response ->
+            context.assertEquals("json", response.getTransition())));
+  }
+
+  private BinaryEBProxy<KnotContext, KnotContext> proxy(
+      BiConsumer<KnotContext, Handler<AsyncResult<KnotContext>>> jsonProxy) {
+    return new BinaryEBProxy<>(vertx.vertx(), ADDRESS, new DeliveryOptions().setSendTimeout(2000),
+        jsonProxy);
+  }
+}
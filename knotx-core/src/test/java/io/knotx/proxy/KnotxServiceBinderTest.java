@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.KnotxCodecs;
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.Future;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.serviceproxy.ServiceException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class KnotxServiceBinderTest {
+
+  private static final String ADDRESS = "knotx.test.binder";
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Test
+  public void binaryConsumer_whenServiceFails_expectSameFailureAsJsonConsumer(
+      TestContext context) {
+    register((knotContext, result) -> result.handle(Future.failedFuture("Knot failed")));
+
+    new KnotProxyVertxEBProxy(vertx.vertx(), ADDRESS, new DeliveryOptions())
+        .process(new KnotContext(), context.asyncAssertFailure(jsonError ->
+            vertx.vertx().eventBus().send(KnotxCodecs.binaryAddress(ADDRESS), new KnotContext(),
+                context.asyncAssertFailure(binaryError -> {
+                  context.assertTrue(binaryError instanceof ServiceException);
+                  context.assertEquals(-1, ((ServiceException) binaryError).failureCode());
+                  context.assertEquals(((ServiceException) jsonError).failureCode(),
+                      ((ServiceException) binaryError).failureCode());
+                  context.assertEquals(jsonError.getMessage(), binaryError.getMessage());
+                }))));
+  }
+
+  @Test
+  public void binaryConsumer_whenServiceThrows_expectServiceExceptionWithInternalErrorCode(
+      TestContext context) {
+    register((knotContext, result) -> {
+      throw new IllegalStateException("Knot crashed");
+    });
+
+    vertx.vertx().eventBus().send(KnotxCodecs.binaryAddress(ADDRESS), new KnotContext(),
+        context.asyncAssertFailure(error -> {
+          context.assertTrue(error instanceof ServiceException);
+          context.assertEquals(500, ((ServiceException) error).failureCode());
+          context.assertEquals("Knot crashed", error.getMessage());
+        }));
+  }
+
+  private void register(KnotProxy knot) {
+    new KnotxServiceBinder(vertx.vertx()).setAddress(ADDRESS).register(KnotProxy.class, knot);
+  }
+}
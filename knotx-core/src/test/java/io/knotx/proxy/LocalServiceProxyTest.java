@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.serviceproxy.ServiceException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class LocalServiceProxyTest {
+
+  private static final String ADDRESS = "knotx.test.local-proxy";
+
+  private static final long TIMEOUT = 200;
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Test
+  public void process_whenNoReply_expectTimeoutReplyException(TestContext context) {
+    register((request, result) -> {
+      // never replies
+    });
+
+    proxy().process(new JsonObject(), context.asyncAssertFailure(error -> {
+      context.assertTrue(error instanceof ReplyException);
+      context.assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) error).failureType());
+    }));
+  }
+
+  @Test
+  public void process_whenServiceOnOtherContext_expectServiceAndResultContextsKept(
+      TestContext context) {
+    Async async = context.async();
+    AtomicReference<Context> serviceContext = new AtomicReference<>();
+    BiConsumer<JsonObject, Handler<AsyncResult<JsonObject>>> service = (request, result) -> {
+      context.assertEquals(serviceContext.get(), Vertx.currentContext());
+      result.handle(Future.succeededFuture(request));
+    };
+    Context callerContext = vertx.vertx().getOrCreateContext();
+
+    vertx.vertx().deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() {
+        serviceContext.set(vertx.getOrCreateContext());
+        LocalServices.register(vertx, ADDRESS, service);
+      }
+    }, context.asyncAssertSuccess(id -> {
+      context.assertNotEquals(callerContext, serviceContext.get());
+      proxy().process(new JsonObject(), context.asyncAssertSuccess(response -> {
+        context.assertEquals(callerContext, Vertx.currentContext());
+        async.complete();
+      }));
+    }));
+  }
+
+  @Test
+  public void process_expectCopiesOfRequestAndResponse(TestContext context) {
+    JsonObject request = new JsonObject().put("path", "/content/page.html");
+    JsonObject response = new JsonObject().put("statusCode", 200);
+    register((serviceRequest, result) -> {
+      context.assertFalse(serviceRequest == request);
+      context.assertEquals(request, serviceRequest);
+      result.handle(Future.succeededFuture(response));
+    });
+
+    proxy().process(request, context.asyncAssertSuccess(result -> {
+      context.assertFalse(result == response);
+      context.assertEquals(response, result);
+    }));
+  }
+
+  @Test
+  public void process_whenServiceFails_expectServiceException(TestContext context) {
+    register((request, result) -> result.handle(Future.failedFuture("Service failed")));
+
+    proxy().process(new JsonObject(), context.asyncAssertFailure(error -> {
+      context.assertTrue(error instanceof ServiceException);
+      context.assertEquals(-1, ((ServiceException) error).failureCode());
+      context.assertEquals("Service failed", error.getMessage());
+    }));
+  }
+
+  @Test
+  public void process_whenServiceThrows_expectServiceExceptionWithInternalErrorCode(
+      TestContext context) {
+    register((request, result) -> {
+      throw new IllegalStateException("Service crashed");
+    });
+
+    proxy().process(new JsonObject(), context.asyncAssertFailure(error -> {
+      context.assertTrue(error instanceof ServiceException);
+      context.assertEquals(500, ((ServiceException) error).failureCode());
+      context.assertEquals("Service crashed", error.getMessage());
+    }));
+  }
+
+  private void register(BiConsumer<JsonObject, Handler<AsyncResult<JsonObject>>> service) {
+    LocalServices.register(vertx.vertx(), ADDRESS, service);
+  }
+
+  private LocalServiceProxy<JsonObject, JsonObject> proxy() {
+    return new LocalServiceProxy<>(vertx.vertx(), ADDRESS,
+        new DeliveryOptions().setSendTimeout(TIMEOUT), JsonObject::copy, JsonObject::copy,
+        (request, result) -> result.handle(Future.failedFuture("Remote proxy should not be used")));
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+public class DeadlinesTest {
+
+  @Test
+  public void timeLeft_whenNoDeadline_expectTimeoutUnchanged() {
+    assertThat(Deadlines.timeLeft(new ClientRequest(), 3000L), equalTo(3000L));
+  }
+
+  @Test
+  public void timeLeft_whenDeadlineBeforeTimeout_expectTimeoutShrunk() {
+    ClientRequest request = new ClientRequest().setDeadline(Deadlines.after(1000L));
+
+    assertThat(Deadlines.timeLeft(request, 3000L), lessThanOrEqualTo(1000L));
+  }
+
+  @Test
+  public void limit_whenDeadlinePassed_expectCallNotSubscribed() {
+    ClientRequest request = new ClientRequest().setPath("/content/page.html")
+        .setDeadline(System.currentTimeMillis() - 1);
+    AtomicBoolean called = new AtomicBoolean();
+
+    Deadlines.limit(Single.fromCallable(() -> called.getAndSet(true)), request,
+        Schedulers.trampoline())
+        .test()
+        .assertError(TimeoutException.class);
+    assertThat(called.get(), equalTo(false));
+  }
+
+  @Test
+  public void limit_whenCallExceedsDeadline_expectTimeout() {
+    ClientRequest request = new ClientRequest().setPath("/content/page.html")
+        .setDeadline(Deadlines.after(50L));
+
+    Deadlines.limit(Single.never(), request, Schedulers.computation())
+        .test()
+        .awaitDone(1, TimeUnit.SECONDS)
+        .assertError(TimeoutException.class);
+  }
+
+  @Test
+  public void limit_whenNoDeadline_expectCallResult() {
+    Deadlines.limit(Single.just("result"), new ClientRequest(), Schedulers.trampoline())
+        .test()
+        .assertValue("result");
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+
+import io.knotx.dataobjects.Fragment;
+import io.vertx.core.buffer.Buffer;
+import java.util.Collections;
+import org.junit.Test;
+
+public class FingerprintTest {
+
+  private static final String SNIPPET = "<script data-knotx-knots=\"handlebars\">{{name}}</script>";
+
+  @Test
+  public void of_whenSameContent_expectEqualFingerprints() {
+    assertThat(Fingerprint.of(SNIPPET), equalTo(Fingerprint.of(new StringBuilder(SNIPPET))));
+    assertThat(Fingerprint.of(Buffer.buffer(SNIPPET)),
+        equalTo(Fingerprint.of(Buffer.buffer(SNIPPET))));
+    assertThat(Fingerprint.of(SNIPPET).toString().length(), equalTo(32));
+  }
+
+  @Test
+  public void of_whenDifferentContent_expectDifferentFingerprints() {
+    assertThat(Fingerprint.of(SNIPPET), not(equalTo(Fingerprint.of(SNIPPET + " "))));
+  }
+
+  @Test
+  public void fragmentFingerprint_expectSharedByCopiesUntilContentChanged() {
+    Fragment fragment = Fragment.snippet(Collections.singletonList("handlebars"), SNIPPET);
+    Fingerprint fingerprint = fragment.fingerprint();
+    Fragment copy = new Fragment(fragment);
+
+    assertThat(fingerprint, equalTo(Fingerprint.of(SNIPPET)));
+    assertThat(copy.fingerprintIfComputed(), equalTo(fingerprint));
+    assertThat(copy.content("<p>rendered</p>").fingerprint(),
+        equalTo(Fingerprint.of("<p>rendered</p>")));
+  }
+}
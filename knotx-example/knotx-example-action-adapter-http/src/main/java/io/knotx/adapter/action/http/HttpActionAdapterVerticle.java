@@ -19,6 +19,7 @@ package io.knotx.adapter.action.http;
 import io.knotx.adapter.action.http.impl.HttpActionAdapterProxyImpl;
 import io.knotx.adapter.common.http.HttpAdapterConfiguration;
 import io.knotx.proxy.AdapterProxy;
+import io.knotx.proxy.KnotxServiceBinder;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
@@ -26,7 +27,6 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.AbstractVerticle;
-import io.vertx.serviceproxy.ServiceBinder;
 
 public class HttpActionAdapterVerticle extends AbstractVerticle {
 
@@ -36,7 +36,7 @@ public class HttpActionAdapterVerticle extends AbstractVerticle {
 
   private MessageConsumer<JsonObject> consumer;
 
-  private ServiceBinder serviceBinder;
+  private KnotxServiceBinder serviceBinder;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -49,7 +49,7 @@ public class HttpActionAdapterVerticle extends AbstractVerticle {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
     //register the service proxy on event bus
-    serviceBinder = new ServiceBinder(getVertx());
+    serviceBinder = new KnotxServiceBinder(getVertx());
     consumer = serviceBinder
         .setAddress(configuration.getAddress())
         .register(AdapterProxy.class, new HttpActionAdapterProxyImpl(vertx, configuration));
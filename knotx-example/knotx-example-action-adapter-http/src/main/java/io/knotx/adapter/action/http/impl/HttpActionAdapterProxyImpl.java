@@ -25,18 +25,14 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.reactivex.Single;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.json.JsonObject;
-import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.reactivex.core.Vertx;
-import io.vertx.reactivex.ext.web.client.WebClient;
 
 public class HttpActionAdapterProxyImpl extends AbstractAdapterProxy {
 
   private HttpClientFacade httpClientFacade;
 
   public HttpActionAdapterProxyImpl(Vertx vertx, HttpAdapterConfiguration configuration) {
-    this.httpClientFacade = new HttpClientFacade(getWebClient(vertx, configuration),
-        configuration);
+    this.httpClientFacade = new HttpClientFacade(vertx, configuration);
   }
 
   @Override
@@ -44,12 +40,6 @@ public class HttpActionAdapterProxyImpl extends AbstractAdapterProxy {
     return httpClientFacade.process(request, HttpMethod.POST).map(this::prepareResponse);
   }
 
-  private WebClient getWebClient(Vertx vertx, HttpAdapterConfiguration configuration) {
-    JsonObject clientOptions = configuration.getClientOptions();
-    return clientOptions.isEmpty() ? WebClient.create(vertx) :
-        WebClient.create(vertx, new WebClientOptions(clientOptions));
-  }
-
   private AdapterResponse prepareResponse(ClientResponse response) {
     AdapterResponse result = new AdapterResponse();
 
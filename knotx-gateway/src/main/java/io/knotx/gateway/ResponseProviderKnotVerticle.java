@@ -18,6 +18,7 @@ package io.knotx.gateway;
 import io.knotx.gateway.configuration.KnotxGatewayKnotConfiguration;
 import io.knotx.gateway.impl.ResponseProviderKnotProxyImpl;
 import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxServiceBinder;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
@@ -25,7 +26,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ServiceBinder;
 
 public class ResponseProviderKnotVerticle extends AbstractVerticle {
 
@@ -35,7 +35,7 @@ public class ResponseProviderKnotVerticle extends AbstractVerticle {
 
   private MessageConsumer<JsonObject> consumer;
 
-  private ServiceBinder serviceBinder;
+  private KnotxServiceBinder serviceBinder;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -46,7 +46,7 @@ public class ResponseProviderKnotVerticle extends AbstractVerticle {
   @Override
   public void start() throws Exception {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
-    serviceBinder = new ServiceBinder(getVertx());
+    serviceBinder = new KnotxServiceBinder(getVertx());
     consumer = serviceBinder
         .setAddress(configuration.getAddress())
         .register(KnotProxy.class, new ResponseProviderKnotProxyImpl());
@@ -21,6 +21,7 @@ import io.knotx.dataobjects.Fragment;
 import io.knotx.fragments.FragmentConstants;
 import io.knotx.fragments.SnippetPatterns;
 import io.knotx.junit.util.FileReader;
+import io.knotx.util.Fingerprint;
 import io.vertx.core.json.JsonObject;
 import java.io.IOException;
 import org.mockito.Mockito;
@@ -42,6 +43,8 @@ public class KnotxCoercers {
 
     Fragment fragmentMock = Mockito.mock(Fragment.class);
     when(fragmentMock.content()).thenReturn(fragmentContent);
+    when(fragmentMock.contentView()).thenReturn(fragmentContent);
+    when(fragmentMock.fingerprint()).thenReturn(Fingerprint.of(fragmentContent));
     when(fragmentMock.isRaw())
         .thenReturn(!patterns.getAnySnippetPattern().matcher(fragmentContent).matches());
     return fragmentMock;
@@ -17,6 +17,7 @@ package io.knotx.knot.action;
 
 import io.knotx.knot.action.domain.DefaultFormSimplifier;
 import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxServiceBinder;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
@@ -24,7 +25,6 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.AbstractVerticle;
-import io.vertx.serviceproxy.ServiceBinder;
 
 public class ActionKnotVerticle extends AbstractVerticle {
 
@@ -34,7 +34,7 @@ public class ActionKnotVerticle extends AbstractVerticle {
 
   private MessageConsumer<JsonObject> consumer;
 
-  private ServiceBinder serviceBinder;
+  private KnotxServiceBinder serviceBinder;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -47,7 +47,7 @@ public class ActionKnotVerticle extends AbstractVerticle {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
     //register the service proxy on event bus
-    serviceBinder = new ServiceBinder(getVertx());
+    serviceBinder = new KnotxServiceBinder(getVertx());
     consumer = serviceBinder
         .setAddress(configuration.address())
         .register(KnotProxy.class, new ActionKnotProxyImpl(vertx, configuration, new DefaultFormSimplifier()));
@@ -16,10 +16,14 @@
 package io.knotx.knot.assembler.impl;
 
 import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.fragments.SnippetPatterns;
 import io.knotx.knot.AbstractKnotProxy;
 import io.knotx.knot.assembler.FragmentAssemblerConfiguration;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.reactivex.Single;
 import io.vertx.core.buffer.Buffer;
@@ -28,8 +32,8 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.MultiMap;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 
 public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
@@ -49,11 +53,7 @@ public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
   protected Single<KnotContext> processRequest(KnotContext knotContext) {
     if (hasFragments(knotContext)) {
       try {
-        String joinedFragments = knotContext.getFragments().stream()
-            .map(fragment -> configuration.unprocessedFragmentStrategy().get(fragment, patterns))
-            .collect(Collectors.joining());
-
-        return Single.just(createSuccessResponse(knotContext, joinedFragments));
+        return Single.just(createSuccessResponse(knotContext, assemble(knotContext)));
       } catch (Exception ex) {
         LOGGER.error("Exception happened during Fragment assembly.", ex);
         return Single.just(processError(knotContext, ex));
@@ -64,6 +64,52 @@ public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
     }
   }
 
+  /**
+   * Encodes fragments one by one straight into a single UTF-8 byte buffer, so the page is never
+   * joined into an intermediate String. Static fragments are encoded from the template views,
+   * fragments already held as bytes (e.g. rendered by the Handlebars Knot) are copied as they are.
+   *
+   * @return assembled markup or <tt>null</tt> if all fragments are blank
+   */
+  private Buffer assemble(KnotContext knotContext) {
+    List<Fragment> fragments = knotContext.getFragments();
+    ByteBuf body = Unpooled.buffer(fragments.stream().mapToInt(this::size).sum());
+    boolean blank = true;
+    for (Fragment fragment : fragments) {
+      CharSequence content = configuration.unprocessedFragmentStrategy()
+          .markup(fragment, patterns);
+      Buffer bytes = content == fragment.contentView() ? fragment.contentBytes() : null;
+      if (bytes != null) {
+        blank = blank && isBlank(bytes);
+        body.writeBytes(bytes.getByteBuf());
+      } else {
+        blank = blank && StringUtils.isBlank(content);
+        ByteBufUtil.writeUtf8(body, content);
+      }
+    }
+    return blank ? null : Buffer.buffer(body);
+  }
+
+  private int size(Fragment fragment) {
+    Buffer bytes = fragment.contentBytes();
+    return bytes != null ? bytes.length() : fragment.contentView().length();
+  }
+
+  /**
+   * Checks the bytes without decoding them as long as they are ASCII.
+   */
+  private static boolean isBlank(Buffer bytes) {
+    for (int i = 0; i < bytes.length(); i++) {
+      byte b = bytes.getByte(i);
+      if (b < 0) {
+        return StringUtils.isBlank(bytes.toString("UTF-8"));
+      } else if (!Character.isWhitespace(b)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private boolean hasFragments(KnotContext knotContext) {
     return knotContext.getFragments() != null && !knotContext.getFragments().isEmpty();
   }
@@ -83,16 +129,16 @@ public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
         .setClientResponse(errorResponse);
   }
 
-  private KnotContext createSuccessResponse(KnotContext inputContext, String renderedContent) {
+  private KnotContext createSuccessResponse(KnotContext inputContext, Buffer renderedContent) {
     ClientResponse clientResponse = inputContext.getClientResponse();
-    if (StringUtils.isBlank(renderedContent)) {
+    if (renderedContent == null) {
       clientResponse.setStatusCode(HttpResponseStatus.NO_CONTENT.code());
     } else {
       MultiMap headers = clientResponse.getHeaders();
-      headers.add(HttpHeaders.CONTENT_LENGTH.toString().toLowerCase(),
+      headers.set(HttpHeaders.CONTENT_LENGTH.toString().toLowerCase(),
           Integer.toString(renderedContent.length()));
 
-      clientResponse.setBody(Buffer.buffer(renderedContent)).setHeaders(headers);
+      clientResponse.setBody(renderedContent).setHeaders(headers);
       clientResponse.setStatusCode(HttpResponseStatus.OK.code());
     }
 
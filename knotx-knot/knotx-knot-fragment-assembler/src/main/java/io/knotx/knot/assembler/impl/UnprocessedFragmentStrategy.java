@@ -16,8 +16,11 @@
 package io.knotx.knot.assembler.impl;
 
 import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.FragmentConstants;
 import io.knotx.fragments.FragmentContentExtractor;
 import io.knotx.fragments.SnippetPatterns;
+import io.vertx.core.buffer.Buffer;
+import java.nio.charset.StandardCharsets;
 
 public enum UnprocessedFragmentStrategy {
 
@@ -26,13 +29,17 @@ public enum UnprocessedFragmentStrategy {
     protected String get(Fragment fragment, SnippetPatterns snippetPatterns) {
       return fragment.content();
     }
+
+    @Override
+    protected CharSequence markup(Fragment fragment, SnippetPatterns snippetPatterns) {
+      return fragment.contentView();
+    }
   },
 
   UNWRAP {
     @Override
     protected String get(Fragment fragment, SnippetPatterns snippetPatterns) {
-      if (!fragment.isRaw() && snippetPatterns.getAnySnippetPattern().matcher(fragment.content())
-          .matches()) {
+      if (!fragment.isRaw() && isSnippet(fragment, snippetPatterns)) {
         return "<!-- SNIPPET UNWRAPED START -->" + FragmentContentExtractor.unwrapContent(fragment)
             + "<!-- SNIPPET UNWRAPED STOP -->";
       } else {
@@ -44,11 +51,53 @@ public enum UnprocessedFragmentStrategy {
   IGNORE {
     @Override
     protected String get(Fragment fragment, SnippetPatterns snippetPatterns) {
-      return snippetPatterns.getAnySnippetPattern().matcher(fragment.content()).matches()
+      return isSnippet(fragment, snippetPatterns)
           ? "<!-- SNIPPET IGNORED -->" : fragment.content();
     }
+
+    @Override
+    protected CharSequence markup(Fragment fragment, SnippetPatterns snippetPatterns) {
+      return isSnippet(fragment, snippetPatterns)
+          ? "<!-- SNIPPET IGNORED -->" : fragment.contentView();
+    }
   };
 
+  private static final byte[] SNIPPET_IDENTIFIER = FragmentConstants.SNIPPET_IDENTIFIER_NAME
+      .getBytes(StandardCharsets.US_ASCII);
+
   protected abstract String get(Fragment fragment, SnippetPatterns snippetPatterns);
 
+  /**
+   * Works as {@link #get(Fragment, SnippetPatterns)}, but the markup of static fragments is not
+   * copied.
+   */
+  protected CharSequence markup(Fragment fragment, SnippetPatterns snippetPatterns) {
+    return fragment.isRaw() || !isSnippet(fragment, snippetPatterns)
+        ? fragment.contentView() : get(fragment, snippetPatterns);
+  }
+
+  /**
+   * Markup held as bytes (e.g. rendered by the Handlebars Knot) is decoded only when it contains
+   * the snippet identifier.
+   */
+  private static boolean isSnippet(Fragment fragment, SnippetPatterns snippetPatterns) {
+    Buffer bytes = fragment.contentBytes();
+    return (bytes == null || containsIgnoreCase(bytes, SNIPPET_IDENTIFIER))
+        && snippetPatterns.getAnySnippetPattern().matcher(fragment.contentView()).matches();
+  }
+
+  private static boolean containsIgnoreCase(Buffer bytes, byte[] ascii) {
+    for (int i = 0; i <= bytes.length() - ascii.length; i++) {
+      int j = 0;
+      while (j < ascii.length
+          && Character.toLowerCase(bytes.getByte(i + j)) == Character.toLowerCase(ascii[j])) {
+        j++;
+      }
+      if (j == ascii.length) {
+        return true;
+      }
+    }
+    return false;
+  }
+
 }
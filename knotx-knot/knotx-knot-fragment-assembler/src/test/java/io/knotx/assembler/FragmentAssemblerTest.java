@@ -133,6 +133,23 @@ public class FragmentAssemblerTest {
         });
   }
 
+  @Test
+  @KnotxConfiguration("test.asIs.io.knotx.FragmentAssembler.json")
+  public void callAssemblerWithMultiByteCharacters_expectContentLengthInBytes(
+      TestContext context) throws Exception {
+    List<Pair<List<String>, String>> fragments = Arrays.asList(
+        new ImmutablePair<>(Collections.singletonList(RAW), "<p>zażółć "),
+        new ImmutablePair<>(Collections.singletonList(RAW), "gęślą jaźń</p>"));
+    callAssemblerWithAssertions(context, fragments,
+        knotContext -> {
+          context.assertEquals("<p>zażółć gęślą jaźń</p>",
+              knotContext.getClientResponse().getBody().toString());
+          context.assertEquals(
+              Integer.toString(knotContext.getClientResponse().getBody().length()),
+              knotContext.getClientResponse().getHeaders().get("content-length"));
+        });
+  }
+
   private void callAssemblerWithAssertions(TestContext context,
       List<Pair<List<String>, String>> fragments,
       Action1<KnotContext> testFunction) {
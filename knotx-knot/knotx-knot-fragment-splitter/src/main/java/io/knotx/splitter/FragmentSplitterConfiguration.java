@@ -20,12 +20,19 @@ import io.vertx.core.json.JsonObject;
 
 public class FragmentSplitterConfiguration {
 
+  private static final long DEFAULT_CACHE_MAX_SIZE = 32 * 1024 * 1024; // 32 MB
+
   private final String address;
   private final String snippetTagName;
+  private final boolean cacheEnabled;
+  private final long cacheMaxSize;
 
   public FragmentSplitterConfiguration(JsonObject config) {
     address = config.getString("address");
     snippetTagName = config.getString("snippetTagName", FragmentConstants.DEFAULT_SNIPPET_TAG_NAME);
+    JsonObject cache = config.getJsonObject("cache", new JsonObject());
+    cacheEnabled = cache.getBoolean("enabled", true);
+    cacheMaxSize = cache.getLong("maxSize", DEFAULT_CACHE_MAX_SIZE);
   }
 
   public String getAddress() {
@@ -35,4 +42,12 @@ public class FragmentSplitterConfiguration {
   public String getSnippetTagName() {
     return snippetTagName;
   }
+
+  public boolean isCacheEnabled() {
+    return cacheEnabled;
+  }
+
+  public long getCacheMaxSize() {
+    return cacheMaxSize;
+  }
 }
@@ -16,6 +16,7 @@
 package io.knotx.splitter;
 
 import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxServiceBinder;
 import io.knotx.splitter.impl.FragmentSplitterKnotProxyImpl;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
@@ -24,7 +25,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ServiceBinder;
 
 public class FragmentSplitterVerticle extends AbstractVerticle {
 
@@ -34,7 +34,7 @@ public class FragmentSplitterVerticle extends AbstractVerticle {
 
   private MessageConsumer<JsonObject> consumer;
 
-  private ServiceBinder serviceBinder;
+  private KnotxServiceBinder serviceBinder;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -47,10 +47,10 @@ public class FragmentSplitterVerticle extends AbstractVerticle {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
     //register the service proxy on event bus
-    serviceBinder = new ServiceBinder(getVertx());
+    serviceBinder = new KnotxServiceBinder(getVertx());
     consumer = serviceBinder
         .setAddress(configuration.getAddress())
-        .register(KnotProxy.class, new FragmentSplitterKnotProxyImpl(configuration));
+        .register(KnotProxy.class, new FragmentSplitterKnotProxyImpl(vertx, configuration));
   }
 
   @Override
@@ -20,6 +20,8 @@ import io.knotx.knot.AbstractKnotProxy;
 import io.knotx.splitter.FragmentSplitterConfiguration;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.reactivex.Single;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import java.util.NoSuchElementException;
@@ -31,15 +33,25 @@ public class FragmentSplitterKnotProxyImpl extends AbstractKnotProxy {
 
   private final FragmentSplitter splitter;
 
-  public FragmentSplitterKnotProxyImpl(FragmentSplitterConfiguration configuration) {
-    splitter = new HtmlFragmentSplitter(configuration.getSnippetTagName());
+  private final String snippetTagName;
+
+  private final SplitResultCache splitResults;
+
+  public FragmentSplitterKnotProxyImpl(Vertx vertx, FragmentSplitterConfiguration configuration) {
+    snippetTagName = configuration.getSnippetTagName();
+    splitter = new HtmlFragmentSplitter(snippetTagName);
+    splitResults = configuration.isCacheEnabled()
+        ? SplitResultCache.get(vertx, configuration.getCacheMaxSize())
+        : null;
   }
 
   @Override
   protected Single<KnotContext> processRequest(KnotContext knotContext) {
     try {
-      knotContext
-          .setFragments(splitter.split(knotContext.getClientResponse().getBody().toString()));
+      Buffer template = knotContext.getClientResponse().getBody();
+      knotContext.setFragments(splitResults == null
+          ? splitter.split(template.toString())
+          : splitResults.split(snippetTagName, template, splitter::split));
       knotContext.getClientResponse().setStatusCode(HttpResponseStatus.OK.code()).clearBody();
 
       return Single.just(knotContext);
@@ -15,54 +15,46 @@
  */
 package io.knotx.splitter.impl;
 
-import com.google.common.collect.Lists;
 import io.knotx.dataobjects.Fragment;
 import io.knotx.fragments.FragmentConstants;
-import io.knotx.fragments.SnippetPatterns;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
 
 class HtmlFragmentSplitter implements FragmentSplitter {
 
-  private final SnippetPatterns snippetPatterns;
+  private final String snippetTag;
 
   HtmlFragmentSplitter(String snippetTag) {
-    snippetPatterns = new SnippetPatterns(snippetTag);
+    this.snippetTag = snippetTag;
   }
 
   @Override
   public List<Fragment> split(String html) {
-    List<Fragment> fragments = Lists.newLinkedList();
-    if (snippetPatterns.getAnySnippetPattern().matcher(html).matches()) {
-      Matcher matcher = snippetPatterns.getSnippetPattern().matcher(html);
-      int idx = 0;
-      while (matcher.find()) {
-        MatchResult matchResult = matcher.toMatchResult();
-        if (idx < matchResult.start()) {
-          fragments.add(toRaw(html, idx, matchResult.start()));
-        }
-        fragments.add(
-            toSnippet(matchResult.group(1).intern()
-                    .split(FragmentConstants.FRAGMENT_IDENTIFIERS_SEPARATOR), html,
-                matchResult.start(), matchResult.end()));
-        idx = matchResult.end();
+    List<Fragment> fragments = new ArrayList<>();
+    SnippetTokenizer tokenizer = new SnippetTokenizer(snippetTag, html);
+    int idx = 0;
+    while (tokenizer.next()) {
+      if (idx < tokenizer.start()) {
+        fragments.add(toRaw(html, idx, tokenizer.start()));
       }
-      if (idx < html.length()) {
-        fragments.add(toRaw(html, idx, html.length()));
-      }
-    } else {
-      fragments.add(toRaw(html, 0, html.length()));
+      fragments.add(
+          toSnippet(tokenizer.knots().intern()
+                  .split(FragmentConstants.FRAGMENT_IDENTIFIERS_SEPARATOR), html,
+              tokenizer.start(), tokenizer.end()));
+      idx = tokenizer.end();
+    }
+    if (fragments.isEmpty() || idx < html.length()) {
+      fragments.add(toRaw(html, idx, html.length()));
     }
     return fragments;
   }
 
   private Fragment toRaw(String html, int startIdx, int endIdx) {
-    return Fragment.raw(html.substring(startIdx, endIdx));
+    return Fragment.raw(html, startIdx, endIdx);
   }
 
   private Fragment toSnippet(String[] ids, String html, int startIdx, int endIdx) {
-    return Fragment.snippet(Arrays.asList(ids), html.substring(startIdx, endIdx));
+    return Fragment.snippet(Arrays.asList(ids), html, startIdx, endIdx);
   }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import io.knotx.fragments.FragmentConstants;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Single pass scanner of snippet tags. It recognizes exactly the markup matched by
+ * {@link io.knotx.fragments.SnippetPatterns#getSnippetPattern()}:
+ * <pre>
+ * &lt;tag data-knotx-knots="ids" any attributes&gt;content&lt;/tag&gt;
+ * </pre>
+ * without backtracking. The tag name and the attribute name are case sensitive, the snippet
+ * ends with the first closing tag following a non empty content.
+ * <p>
+ * Opening tags having the <tt>data-knotx-knots</tt> attribute which can not be parsed and snippets
+ * without the closing tag are reported and left in the raw markup.
+ */
+class SnippetTokenizer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SnippetTokenizer.class);
+
+  private static final String ATTRIBUTE = FragmentConstants.SNIPPET_IDENTIFIER_NAME;
+
+  private final String openTag;
+
+  private final String closeTag;
+
+  private final String template;
+
+  private int position;
+
+  private int snippetStart;
+
+  private int snippetEnd;
+
+  private String knots;
+
+  SnippetTokenizer(String tagName, String template) {
+    this.openTag = "<" + tagName;
+    this.closeTag = "</" + tagName + ">";
+    this.template = template;
+  }
+
+  /**
+   * Finds the next snippet.
+   *
+   * @return <tt>true</tt> when a snippet was found, its bounds are available with {@link #start()}
+   * and {@link #end()}, and its knots with {@link #knots()}
+   */
+  boolean next() {
+    while (position < template.length()) {
+      int tagStart = template.indexOf(openTag, position);
+      if (tagStart < 0) {
+        position = template.length();
+        return false;
+      }
+      int contentStart = openingTag(tagStart + openTag.length());
+      if (contentStart < 0) {
+        position = tagStart + 1;
+        continue;
+      }
+      int closeStart = template.indexOf(closeTag, contentStart + 1);
+      if (closeStart < 0) {
+        LOGGER.warn("Snippet [{}] at position {} is not closed with {}, it is left unprocessed",
+            knots, tagStart, closeTag);
+        position = template.length();
+        return false;
+      }
+      snippetStart = tagStart;
+      snippetEnd = closeStart + closeTag.length();
+      position = snippetEnd;
+      return true;
+    }
+    return false;
+  }
+
+  int start() {
+    return snippetStart;
+  }
+
+  int end() {
+    return snippetEnd;
+  }
+
+  String knots() {
+    return knots;
+  }
+
+  /**
+   * Parses the rest of the opening tag: <tt>\s+data-knotx-knots\s*=\s*"ids"[^&gt;]*&gt;</tt>.
+   *
+   * @return index of the first content character or <tt>-1</tt> when it is not a snippet tag
+   */
+  private int openingTag(int from) {
+    int idx = skipWhitespaces(from);
+    if (idx == from || !template.startsWith(ATTRIBUTE, idx)) {
+      return -1;
+    }
+    int attributeStart = idx;
+    idx = skipWhitespaces(idx + ATTRIBUTE.length());
+    if (!charAt(idx, '=')) {
+      return malformed(attributeStart);
+    }
+    idx = skipWhitespaces(idx + 1);
+    if (!charAt(idx, '"')) {
+      return malformed(attributeStart);
+    }
+    int valueStart = ++idx;
+    while (idx < template.length() && isKnotIdChar(template.charAt(idx))) {
+      idx++;
+    }
+    if (idx == valueStart || !charAt(idx, '"')) {
+      return malformed(attributeStart);
+    }
+    int valueEnd = idx;
+    int tagEnd = template.indexOf('>', idx + 1);
+    if (tagEnd < 0) {
+      return malformed(attributeStart);
+    }
+    knots = template.substring(valueStart, valueEnd);
+    return tagEnd + 1;
+  }
+
+  private int malformed(int attributeStart) {
+    LOGGER.warn("Malformed {} attribute at position {}, the tag is left unprocessed", ATTRIBUTE,
+        attributeStart);
+    return -1;
+  }
+
+  private int skipWhitespaces(int from) {
+    int idx = from;
+    while (idx < template.length() && isWhitespace(template.charAt(idx))) {
+      idx++;
+    }
+    return idx;
+  }
+
+  private boolean charAt(int idx, char expected) {
+    return idx < template.length() && template.charAt(idx) == expected;
+  }
+
+  // the same characters as \s in java.util.regex
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  private static boolean isKnotIdChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+        || c == '-' || c == ',';
+  }
+}
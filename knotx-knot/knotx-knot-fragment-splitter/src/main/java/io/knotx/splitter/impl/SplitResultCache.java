@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.metrics.KnotxMetrics;
+import io.knotx.util.Fingerprint;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Fragments of the recently split templates, shared by all Splitter instances deployed in the
+ * Vert.x instance. Templates are identified by the fingerprint of the repository response body,
+ * so a cached template is not even decoded. The cache is bounded by the size of the templates.
+ */
+class SplitResultCache implements Shareable {
+
+  private static final String MAP_NAME = "knotx.splitter.splitResults";
+
+  private static final String CACHE_KEY = "results";
+
+  private static final String METRICS_PREFIX = "knotx.splitter.cache";
+
+  private static final int FRAGMENT_OVERHEAD = 64;
+
+  private final Cache<String, SplitResult> results;
+
+  private final AtomicLong weight = new AtomicLong();
+
+  private SplitResultCache(long maxSize) {
+    results = CacheBuilder.newBuilder()
+        .maximumWeight(maxSize)
+        .weigher((String key, SplitResult result) -> result.size)
+        .removalListener(this::onRemoval)
+        .recordStats()
+        .build();
+    KnotxMetrics.cacheGauges(METRICS_PREFIX, results, weight::get);
+  }
+
+  static SplitResultCache get(Vertx vertx, long maxSize) {
+    LocalMap<String, SplitResultCache> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    SplitResultCache cache = map.get(CACHE_KEY);
+    if (cache == null) {
+      SplitResultCache created = new SplitResultCache(maxSize);
+      cache = map.putIfAbsent(CACHE_KEY, created);
+      if (cache == null) {
+        cache = created;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Returns copies of the cached template fragments, splits the template and caches its fragments
+   * when it was not split before.
+   *
+   * @param snippetTag snippet tag name used by the splitter
+   * @param template repository response body
+   * @param splitter splitter used when the template is not cached
+   * @return list of fragments owned by the caller
+   */
+  List<Fragment> split(String snippetTag, Buffer template,
+      Function<String, List<Fragment>> splitter) {
+    String key = key(snippetTag, template);
+    SplitResult result = results.getIfPresent(key);
+    if (result == null) {
+      result = new SplitResult(splitter.apply(template.toString()));
+      weight.addAndGet(result.size);
+      results.put(key, result);
+    }
+    return result.copy();
+  }
+
+  private static String key(String snippetTag, Buffer template) {
+    return snippetTag + ':' + template.length() + ':' + Fingerprint.of(template);
+  }
+
+  private void onRemoval(RemovalNotification<String, SplitResult> notification) {
+    weight.addAndGet(-notification.getValue().size);
+  }
+
+  private static class SplitResult {
+
+    private final List<Fragment> fragments;
+
+    private final int size;
+
+    private SplitResult(List<Fragment> fragments) {
+      int size = 0;
+      for (Fragment fragment : fragments) {
+        if (!fragment.isRaw()) {
+          // snippets are read by Knots, they get the markup instead of copying it on each request
+          // and its fingerprint instead of hashing it on each request
+          fragment.content();
+          fragment.fingerprint();
+        }
+        // copies never write to the context of the cached fragment
+        fragment.markContextShared();
+        size += fragment.contentView().length() * 2 + FRAGMENT_OVERHEAD;
+      }
+      this.fragments = fragments;
+      this.size = size;
+    }
+
+    private List<Fragment> copy() {
+      List<Fragment> copies = new ArrayList<>(fragments.size());
+      fragments.forEach(fragment -> copies.add(new Fragment(fragment)));
+      return copies;
+    }
+  }
+}
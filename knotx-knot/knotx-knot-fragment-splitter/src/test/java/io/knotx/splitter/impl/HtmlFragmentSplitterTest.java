@@ -135,4 +135,16 @@ public class HtmlFragmentSplitterTest {
     assertThat(testOneSnippetMiddle.get(7).isRaw(), equalTo(true));
     assertThat(testOneSnippetMiddle.get(8).isRaw(), equalTo(false));
   }
+
+  @Test
+  public void split_whenSnippetNotClosed_expectSnippetLeftInRawFragment() {
+    String html = "<p>a</p><script data-knotx-knots=\"services\">x</script>"
+        + "<script data-knotx-knots=\"handlebars\"><p>b</p>";
+    List<Fragment> fragments = new HtmlFragmentSplitter(DEFAULT_SCRIPT_TAG).split(html);
+    assertThat(fragments.size(), equalTo(3));
+    assertThat(fragments.get(1).isRaw(), equalTo(false));
+    assertThat(fragments.get(2).isRaw(), equalTo(true));
+    assertThat(fragments.get(2).content(),
+        equalTo("<script data-knotx-knots=\"handlebars\"><p>b</p>"));
+  }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.junit.util.FileReader;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SplitResultCacheTest {
+
+  private static final String SNIPPET_TAG = "script";
+
+  private Vertx vertx;
+
+  private AtomicInteger splits;
+
+  private Function<String, List<Fragment>> splitter;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    splits = new AtomicInteger();
+    HtmlFragmentSplitter htmlSplitter = new HtmlFragmentSplitter(SNIPPET_TAG);
+    splitter = template -> {
+      splits.incrementAndGet();
+      return htmlSplitter.split(template);
+    };
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void split_whenSameTemplateTwice_expectTemplateSplitOnce() throws Exception {
+    SplitResultCache cache = SplitResultCache.get(vertx, 1024 * 1024);
+    Buffer template = Buffer.buffer(FileReader.readText("test-many-fragments.html"));
+
+    List<Fragment> first = cache.split(SNIPPET_TAG, template, splitter);
+    List<Fragment> second = cache.split(SNIPPET_TAG, template.copy(), splitter);
+
+    assertThat(splits.get(), equalTo(1));
+    assertThat(second, equalTo(first));
+  }
+
+  @Test
+  public void split_whenCachedFragmentModified_expectNextCopyUntouched() throws Exception {
+    SplitResultCache cache = SplitResultCache.get(vertx, 1024 * 1024);
+    Buffer template = Buffer.buffer(FileReader.readText("test-many-fragments.html"));
+
+    Fragment modified = cache.split(SNIPPET_TAG, template, splitter).get(1);
+    modified.context().put("_result", new JsonObject().put("a", 1));
+    modified.content("<p>rendered</p>");
+
+    Fragment next = cache.split(SNIPPET_TAG, template, splitter).get(1);
+    assertThat(next, not(equalTo(modified)));
+    assertThat(next.context().isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void split_whenTemplateChanged_expectTemplateSplitAgain() throws Exception {
+    SplitResultCache cache = SplitResultCache.get(vertx, 1024 * 1024);
+    String template = FileReader.readText("test-many-fragments.html");
+
+    cache.split(SNIPPET_TAG, Buffer.buffer(template), splitter);
+    cache.split(SNIPPET_TAG, Buffer.buffer(template + " "), splitter);
+
+    assertThat(splits.get(), equalTo(2));
+  }
+}
@@ -19,25 +19,88 @@ import io.vertx.core.json.JsonObject;
 
 public class HandlebarsKnotConfiguration {
 
+  private static final long DEFAULT_CACHE_MAX_SIZE = 16 * 1024 * 1024; // 16 MB
+
   private final String address;
   private final String cacheKeyAlgorithm;
   private final Long cacheSize;
+  private final long cacheMaxSize;
+  private final boolean renderOffload;
+  private final int renderPoolSize;
+  private final long renderOffloadThreshold;
+  private final boolean lazyContext;
 
   HandlebarsKnotConfiguration(JsonObject config) {
     this.address = config.getString("address");
     this.cacheKeyAlgorithm = config.getString("cacheKeyAlgorithm", "MD5");
     this.cacheSize = config.getLong("cacheSize", 1000L);
+    this.cacheMaxSize = config.getLong("cacheMaxSize", DEFAULT_CACHE_MAX_SIZE);
+    JsonObject rendering = config.getJsonObject("rendering", new JsonObject());
+    this.renderOffload = rendering.getBoolean("offload", false);
+    this.renderPoolSize = rendering
+        .getInteger("poolSize", Runtime.getRuntime().availableProcessors());
+    this.renderOffloadThreshold = rendering.getLong("offloadThreshold", 1L);
+    this.lazyContext = rendering.getBoolean("lazyContext", false);
   }
 
   public String address() {
     return address;
   }
 
+  /**
+   * @deprecated compiled snippets are identified by
+   * {@link io.knotx.dataobjects.Fragment#fingerprint()}, the algorithm is not used anymore
+   */
+  @Deprecated
   public String getCacheKeyAlgorithm() {
     return cacheKeyAlgorithm;
   }
 
+  /**
+   * @deprecated the cache of compiled snippets is bounded by their size, see {@link
+   * #getCacheMaxSize()}
+   */
+  @Deprecated
   public Long getCacheSize() {
     return cacheSize;
   }
+
+  /**
+   * @return maximum size (in bytes) of the compiled snippets cache shared by all Handlebars Knot
+   * instances
+   */
+  public long getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  /**
+   * @return <tt>true</tt> if slow snippets are rendered on the render pool instead of the event
+   * loop
+   */
+  public boolean isRenderOffload() {
+    return renderOffload;
+  }
+
+  /**
+   * @return number of threads of the render pool shared by all Handlebars Knot instances
+   */
+  public int getRenderPoolSize() {
+    return renderPoolSize;
+  }
+
+  /**
+   * @return average rendering time (in ms) of a snippet above which it is rendered on the render
+   * pool
+   */
+  public long getRenderOffloadThreshold() {
+    return renderOffloadThreshold;
+  }
+
+  /**
+   * @return <tt>true</tt> if snippets are rendered with a lazy view of the context received from
+   * the event bus instead of the parsed {@link JsonObject}
+   */
+  public boolean isLazyContext() {
+    return lazyContext;
+  }
 }
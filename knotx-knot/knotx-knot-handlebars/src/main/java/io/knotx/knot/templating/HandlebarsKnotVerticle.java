@@ -17,6 +17,7 @@ package io.knotx.knot.templating;
 
 import io.knotx.knot.templating.impl.HandlebarsKnotProxyImpl;
 import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxServiceBinder;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
@@ -24,7 +25,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ServiceBinder;
 
 public class HandlebarsKnotVerticle extends AbstractVerticle {
 
@@ -34,7 +34,7 @@ public class HandlebarsKnotVerticle extends AbstractVerticle {
 
   private MessageConsumer<JsonObject> consumer;
 
-  private ServiceBinder serviceBinder;
+  private KnotxServiceBinder serviceBinder;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -47,10 +47,10 @@ public class HandlebarsKnotVerticle extends AbstractVerticle {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
     //register the service proxy on event bus
-    serviceBinder = new ServiceBinder(getVertx());
+    serviceBinder = new KnotxServiceBinder(getVertx());
     consumer = serviceBinder
         .setAddress(configuration.address())
-        .register(KnotProxy.class, new HandlebarsKnotProxyImpl(configuration));
+        .register(KnotProxy.class, new HandlebarsKnotProxyImpl(vertx, configuration));
   }
 
   @Override
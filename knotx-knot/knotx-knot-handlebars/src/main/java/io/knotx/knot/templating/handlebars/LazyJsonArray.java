@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.handlebars;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read only view of a JSON array encoded as bytes, see {@link LazyJsonObject}.
+ */
+final class LazyJsonArray extends AbstractList<Object> {
+
+  private final Buffer bytes;
+
+  private List<Object> items;
+
+  LazyJsonArray(Buffer bytes) {
+    this.bytes = bytes;
+  }
+
+  @Override
+  public Object get(int index) {
+    return items().get(index);
+  }
+
+  @Override
+  public int size() {
+    return items().size();
+  }
+
+  /**
+   * @return the JSON of the array as it was encoded
+   */
+  @Override
+  public String toString() {
+    return bytes.toString("UTF-8");
+  }
+
+  private List<Object> items() {
+    if (items == null) {
+      List<Object> indexed = new ArrayList<>();
+      try (JsonParser parser = LazyJsonObject.parser(bytes)) {
+        LazyJsonObject.expect(parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          indexed.add(LazyJsonObject.value(parser, bytes));
+        }
+      } catch (IOException e) {
+        throw new DecodeException("Failed to decode: " + e.getMessage());
+      }
+      items = Collections.unmodifiableList(indexed);
+    }
+    return items;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.handlebars;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read only view of a JSON object encoded as bytes. Members of the object are indexed when the
+ * object is read for the first time, nested objects and arrays are skipped and indexed only when
+ * they are read too. Reading a few paths of a large document does not build the whole tree.
+ *
+ * <p>Views are not thread-safe, each rendering should use its own view.</p>
+ */
+public final class LazyJsonObject extends AbstractMap<String, Object> {
+
+  private final Buffer bytes;
+
+  private Map<String, Object> members;
+
+  private LazyJsonObject(Buffer bytes) {
+    this.bytes = bytes;
+  }
+
+  /**
+   * @param bytes JSON object encoded in UTF-8, the bytes must not be modified while the view is
+   * used
+   * @return view of the object
+   */
+  public static LazyJsonObject of(Buffer bytes) {
+    return new LazyJsonObject(bytes);
+  }
+
+  @Override
+  public Object get(Object name) {
+    return members().get(name);
+  }
+
+  @Override
+  public boolean containsKey(Object name) {
+    return members().containsKey(name);
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return members().entrySet();
+  }
+
+  /**
+   * @return the JSON of the object as it was encoded
+   */
+  @Override
+  public String toString() {
+    return bytes.toString("UTF-8");
+  }
+
+  private Map<String, Object> members() {
+    if (members == null) {
+      Map<String, Object> indexed = new LinkedHashMap<>();
+      try (JsonParser parser = parser(bytes)) {
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          indexed.put(name, value(parser, bytes));
+        }
+      } catch (IOException e) {
+        throw new DecodeException("Failed to decode: " + e.getMessage());
+      }
+      members = Collections.unmodifiableMap(indexed);
+    }
+    return members;
+  }
+
+  static JsonParser parser(Buffer bytes) throws IOException {
+    InputStream in = new ByteBufInputStream(bytes.getByteBuf());
+    return Json.mapper.getFactory().createParser(in);
+  }
+
+  static void expect(JsonParser parser, JsonToken token) throws IOException {
+    if (parser.nextToken() != token) {
+      throw new DecodeException("Expected " + token + " but found " + parser.getCurrentToken());
+    }
+  }
+
+  /**
+   * Reads the value at the current token of the parser. Objects and arrays are skipped, the view
+   * of their bytes is returned instead.
+   */
+  static Object value(JsonParser parser, Buffer bytes) throws IOException {
+    switch (parser.getCurrentToken()) {
+      case START_OBJECT:
+        return new LazyJsonObject(skip(parser, bytes));
+      case START_ARRAY:
+        return new LazyJsonArray(skip(parser, bytes));
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      default:
+        return null;
+    }
+  }
+
+  private static Buffer skip(JsonParser parser, Buffer bytes) throws IOException {
+    int start = (int) parser.getTokenLocation().getByteOffset();
+    parser.skipChildren();
+    int end = (int) parser.getCurrentLocation().getByteOffset();
+    return bytes.slice(start, end);
+  }
+}
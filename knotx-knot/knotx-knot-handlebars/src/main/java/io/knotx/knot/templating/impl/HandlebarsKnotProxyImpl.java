@@ -21,8 +21,6 @@ import static io.knotx.fragments.FragmentContentExtractor.unwrapContent;
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
 import io.knotx.dataobjects.ClientResponse;
 import io.knotx.dataobjects.Fragment;
@@ -32,19 +30,29 @@ import io.knotx.knot.AbstractKnotProxy;
 import io.knotx.knot.templating.HandlebarsKnotConfiguration;
 import io.knotx.knot.templating.handlebars.CustomHandlebarsHelper;
 import io.knotx.knot.templating.handlebars.JsonObjectValueResolver;
+import io.knotx.knot.templating.handlebars.LazyJsonObject;
+import io.knotx.knot.templating.handlebars.LazyJsonValueResolver;
 import io.knotx.knot.templating.helpers.DefaultHandlebarsHelpers;
+import io.knotx.knot.templating.impl.TemplateCache.CompiledTemplate;
+import io.knotx.util.Fingerprint;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
 
 public class HandlebarsKnotProxyImpl extends AbstractKnotProxy {
 
@@ -52,42 +60,40 @@ public class HandlebarsKnotProxyImpl extends AbstractKnotProxy {
 
   private static final String SUPPORTED_FRAGMENT_KNOT = "handlebars";
 
+  private static final String RENDER_POOL_NAME = "knotx-handlebars-render";
+
   private Handlebars handlebars;
 
-  private Cache<String, Template> cache;
+  private TemplateCache cache;
+
+  private final WorkerExecutor renderExecutor;
+
+  private final long offloadThreshold;
 
-  private MessageDigest digest;
+  private final boolean lazyContext;
 
-  public HandlebarsKnotProxyImpl(HandlebarsKnotConfiguration configuration) {
+  public HandlebarsKnotProxyImpl(Vertx vertx, HandlebarsKnotConfiguration configuration) {
     this.handlebars = createHandlebars();
-    this.cache = CacheBuilder.newBuilder()
-        .maximumSize(configuration.getCacheSize())
-        .removalListener(listener -> LOGGER.warn(
-            "Cache limit exceeded. If this information occurs frequently, check 'cacheSize' configuration option because your cache is too small"))
-        .build();
-    try {
-      this.digest = MessageDigest.getInstance(configuration.getCacheKeyAlgorithm());
-    } catch (NoSuchAlgorithmException e) {
-      LOGGER.error("Could not initialize fragment hashing algorithm!", e);
-      throw new IllegalArgumentException(e);
-    }
+    this.cache = TemplateCache.get(vertx, configuration.getCacheMaxSize());
+    this.renderExecutor = configuration.isRenderOffload()
+        ? vertx.createSharedWorkerExecutor(RENDER_POOL_NAME, configuration.getRenderPoolSize())
+        : null;
+    this.offloadThreshold = TimeUnit.MILLISECONDS
+        .toNanos(configuration.getRenderOffloadThreshold());
+    this.lazyContext = configuration.isLazyContext();
   }
 
   @Override
   protected Single<KnotContext> processRequest(KnotContext knotContext) {
-    return Single.create(observer -> {
-      try {
-        knotContext.setTransition(DEFAULT_TRANSITION);
-        Optional.ofNullable(knotContext.getFragments()).ifPresent(fragments ->
-            fragments.stream()
-                .filter(fragment -> shouldProcess(Sets.newHashSet(fragment.knots())))
-                .forEach(fragment -> fragment.content(evaluate(fragment)))
-        );
-        observer.onSuccess(knotContext);
-      } catch (Exception e) {
-        observer.onError(e);
-      }
-    });
+    knotContext.setTransition(DEFAULT_TRANSITION);
+    final Map<Pair<Fingerprint, Fingerprint>, Single<Buffer>> rendered = new HashMap<>();
+    return Observable
+        .fromIterable(Optional.ofNullable(knotContext.getFragments())
+            .orElse(Collections.emptyList()))
+        .filter(fragment -> shouldProcess(Sets.newHashSet(fragment.knots())))
+        .flatMapSingle(fragment -> render(fragment, rendered))
+        .ignoreElements()
+        .toSingleDefault(knotContext);
   }
 
   @Override
@@ -106,29 +112,87 @@ public class HandlebarsKnotProxyImpl extends AbstractKnotProxy {
         .setClientResponse(errorResponse);
   }
 
-  private String evaluate(Fragment fragment) {
-    Template template = template(fragment);
+  /**
+   * Snippets of the request with the same content and the same context fingerprint are rendered
+   * once, the rendered markup is shared by all of them.
+   */
+  private Single<Fragment> render(Fragment fragment,
+      Map<Pair<Fingerprint, Fingerprint>, Single<Buffer>> rendered) {
+    return Single.defer(() -> {
+      if (fragment.contextFingerprint() == null) {
+        return render(fragment);
+      }
+      return rendered.computeIfAbsent(
+          Pair.of(fragment.fingerprint(), fragment.contextFingerprint()),
+          key -> render(fragment).cache());
+    }).map(fragment::content);
+  }
+
+  /**
+   * Renders the snippet on the event loop, unless it usually takes longer than the offload
+   * threshold. Such snippets are rendered in parallel on the render pool, the fragment is updated
+   * back on the event loop.
+   */
+  private Single<Buffer> render(Fragment fragment) {
+    return Single.defer(() -> {
+      final CompiledTemplate template = template(fragment);
+      final Object context = context(fragment);
+      if (renderExecutor != null && template.renderTime() > offloadThreshold) {
+        return Single.<Buffer>create(emitter -> renderExecutor.<Buffer>executeBlocking(
+            future -> future.complete(evaluate(template, context)), false,
+            result -> {
+              if (result.succeeded()) {
+                emitter.onSuccess(result.result());
+              } else {
+                emitter.onError(result.cause());
+              }
+            }));
+      }
+      return Single.just(evaluate(template, context));
+    });
+  }
+
+  /**
+   * The context received from the event bus is read through the lazy view of its bytes, when
+   * enabled, so only the objects read by the template are parsed.
+   */
+  private Object context(Fragment fragment) {
+    return lazyContext && fragment.contextBytes() != null
+        ? LazyJsonObject.of(fragment.contextBytes())
+        : fragment.contextView();
+  }
+
+  /**
+   * Renders the markup straight into UTF-8 encoded bytes, the markup is held as bytes until it is
+   * written to the response.
+   */
+  private Buffer evaluate(CompiledTemplate compiled, Object context) {
+    Template template = compiled.template();
     if (LOGGER.isTraceEnabled()) {
-      LOGGER.trace("Applying context [{}] to template [{}]!", fragment.context(),
+      LOGGER.trace("Applying context [{}] to template [{}]!", context,
           abbreviate(template.text()));
     }
     try {
-      return template.apply(
-          Context.newBuilder(fragment.context())
-              .push(JsonObjectValueResolver.INSTANCE)
-              .build());
+      final long start = System.nanoTime();
+      final Utf8BufferWriter writer = new Utf8BufferWriter(compiled.outputSize());
+      template.apply(
+          Context.newBuilder(context)
+              .push(JsonObjectValueResolver.INSTANCE, LazyJsonValueResolver.INSTANCE)
+              .build(), writer);
+      final Buffer result = writer.toBuffer();
+      compiled.recordRender(System.nanoTime() - start);
+      compiled.recordOutput(result.length());
+      return result;
     } catch (IOException e) {
-      LOGGER.error("Could not apply context [{}] to template [{}]", fragment.context(),
+      LOGGER.error("Could not apply context [{}] to template [{}]", context,
           abbreviate(template.text()), e);
       throw new IllegalStateException(e);
     }
   }
 
-  private Template template(Fragment fragment) {
+  private CompiledTemplate template(Fragment fragment) {
     try {
-      String cacheKey = getCacheKey(fragment);
-
-      return cache.get(cacheKey, () -> {
+      return cache.get(fragment, () -> {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Compiles Handlebars fragment [{}]", abbreviate(fragment.content()));
         }
@@ -141,11 +205,6 @@ public class HandlebarsKnotProxyImpl extends AbstractKnotProxy {
     }
   }
 
-  private String getCacheKey(Fragment fragment) {
-    byte[] cacheKeyBytes = digest.digest(fragment.content().getBytes(StandardCharsets.UTF_8));
-    return new String(cacheKeyBytes);
-  }
-
   private Handlebars createHandlebars() {
     Handlebars newHandlebars = new Handlebars();
     DefaultHandlebarsHelpers.registerFor(newHandlebars);
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.jknack.handlebars.Template;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.FragmentContentExtractor;
+import io.knotx.metrics.KnotxMetrics;
+import io.knotx.util.Fingerprint;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled Handlebars snippets shared by all Handlebars Knot instances deployed in the Vert.x
+ * instance, so each snippet is compiled and kept in memory once. Snippets are identified by the
+ * fragment fingerprint. The cache is bounded by the size of the snippets.
+ */
+class TemplateCache implements Shareable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TemplateCache.class);
+
+  private static final String MAP_NAME = "knotx.knot.handlebars.templates";
+
+  private static final String CACHE_KEY = "templates";
+
+  private static final String METRICS_PREFIX = "knotx.knot.handlebars.cache";
+
+  private static final int TEMPLATE_OVERHEAD = 512;
+
+  private static final int RENDER_TIME_WEIGHT = 8;
+
+  private final Cache<Fingerprint, CompiledTemplate> templates;
+
+  private final AtomicLong weight = new AtomicLong();
+
+  private final Timer compileTimer;
+
+  private TemplateCache(long maxSize) {
+    templates = CacheBuilder.newBuilder()
+        .maximumWeight(maxSize)
+        .weigher((Fingerprint key, CompiledTemplate template) -> template.weight)
+        .removalListener(this::onRemoval)
+        .recordStats()
+        .build();
+    KnotxMetrics.cacheGauges(METRICS_PREFIX, templates, weight::get);
+    compileTimer = KnotxMetrics.registry().timer(MetricRegistry.name(METRICS_PREFIX, "compile"));
+  }
+
+  static TemplateCache get(Vertx vertx, long maxSize) {
+    LocalMap<String, TemplateCache> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    TemplateCache cache = map.get(CACHE_KEY);
+    if (cache == null) {
+      TemplateCache created = new TemplateCache(maxSize);
+      cache = map.putIfAbsent(CACHE_KEY, created);
+      if (cache == null) {
+        cache = created;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Returns the compiled snippet of the fragment, compiles it when it was not compiled before.
+   * Concurrent calls for the same snippet compile it once.
+   *
+   * @param fragment fragment with the snippet
+   * @param compiler compiles the snippet of the fragment
+   * @return compiled snippet
+   * @throws ExecutionException when the snippet can not be compiled
+   */
+  CompiledTemplate get(Fragment fragment, Callable<Template> compiler)
+      throws ExecutionException {
+    CompiledTemplate compiled = templates.get(fragment.fingerprint(), () -> {
+      final Timer.Context time = compileTimer.time();
+      try {
+        return new CompiledTemplate(compiler.call(), fragment.contentView().length());
+      } finally {
+        time.stop();
+      }
+    });
+    compiled.uses.incrementAndGet();
+    return compiled;
+  }
+
+  private void onRemoval(RemovalNotification<Fingerprint, CompiledTemplate> notification) {
+    CompiledTemplate removed = notification.getValue();
+    weight.addAndGet(-removed.weight);
+    if (notification.getCause() == RemovalCause.SIZE) {
+      LOGGER.warn("Compiled snippet [{}] evicted after {} s and {} uses, its size is {} bytes and "
+              + "the cache holds {} bytes. If this occurs frequently, increase the 'cacheMaxSize' "
+              + "option.", FragmentContentExtractor.abbreviate(removed.template.text()),
+          TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - removed.compiledAt),
+          removed.uses.get(), removed.weight, weight.get());
+    } else if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Compiled snippet [{}] removed from the cache: {}",
+          notification.getKey(), notification.getCause());
+    }
+  }
+
+  /**
+   * Compiled snippet with the moving average of its rendering time.
+   */
+  class CompiledTemplate {
+
+    private final Template template;
+
+    private final int weight;
+
+    private final long compiledAt = System.currentTimeMillis();
+
+    private final AtomicLong uses = new AtomicLong();
+
+    private volatile long renderTime;
+
+    private volatile int outputSize;
+
+    private CompiledTemplate(Template template, int length) {
+      this.template = template;
+      this.weight = length * 2 + TEMPLATE_OVERHEAD;
+      TemplateCache.this.weight.addAndGet(weight);
+    }
+
+    Template template() {
+      return template;
+    }
+
+    /**
+     * @return average time in ns the recent renderings of the snippet took, <tt>0</tt> when it
+     * was not rendered yet
+     */
+    long renderTime() {
+      return renderTime;
+    }
+
+    /**
+     * Updates the average rendering time. Concurrent updates may be lost, the average is only an
+     * estimate.
+     */
+    void recordRender(long time) {
+      long average = renderTime;
+      renderTime = average == 0 ? time : average + (time - average) / RENDER_TIME_WEIGHT;
+    }
+
+    /**
+     * @return size in bytes of the last rendered markup, used to size the buffer of the next
+     * rendering, <tt>0</tt> when it was not rendered yet
+     */
+    int outputSize() {
+      return outputSize;
+    }
+
+    void recordOutput(int size) {
+      outputSize = size;
+    }
+  }
+}
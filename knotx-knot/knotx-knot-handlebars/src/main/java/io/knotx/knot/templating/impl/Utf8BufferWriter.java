@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Encodes the written characters as UTF-8 straight into a byte buffer, so the rendered markup is
+ * never held as a String. A surrogate pair split between two writes is encoded as one character.
+ */
+final class Utf8BufferWriter extends Writer {
+
+  private static final char NO_SURROGATE = 0;
+
+  private final ByteBuf buffer;
+
+  private char highSurrogate = NO_SURROGATE;
+
+  /**
+   * @param initialCapacity expected number of bytes, e.g. the size of the previous rendering
+   */
+  Utf8BufferWriter(int initialCapacity) {
+    this.buffer = Unpooled.buffer(initialCapacity);
+  }
+
+  @Override
+  public void write(int c) {
+    encode(String.valueOf((char) c));
+  }
+
+  @Override
+  public void write(char[] chars, int offset, int length) {
+    encode(CharBuffer.wrap(chars, offset, length));
+  }
+
+  @Override
+  public void write(String chars, int offset, int length) {
+    encode(offset == 0 && length == chars.length()
+        ? chars : CharBuffer.wrap(chars, offset, offset + length));
+  }
+
+  @Override
+  public Writer append(CharSequence chars) {
+    encode(chars == null ? "null" : chars);
+    return this;
+  }
+
+  @Override
+  public Writer append(CharSequence chars, int start, int end) {
+    encode(CharBuffer.wrap(chars == null ? "null" : chars, start, end));
+    return this;
+  }
+
+  @Override
+  public void flush() {
+    // nothing is buffered besides the pending high surrogate
+  }
+
+  @Override
+  public void close() {
+    flushSurrogate();
+  }
+
+  /**
+   * @return the encoded markup, the writer must not be used afterwards
+   */
+  Buffer toBuffer() {
+    flushSurrogate();
+    // ByteBufUtil reserves 3 bytes per char, drop the unused space when it is significant
+    if (buffer.writableBytes() > buffer.readableBytes() / 4) {
+      buffer.capacity(buffer.writerIndex());
+    }
+    return Buffer.buffer(buffer);
+  }
+
+  private void encode(CharSequence chars) {
+    int start = 0;
+    int end = chars.length();
+    if (end == 0) {
+      return;
+    }
+    if (highSurrogate != NO_SURROGATE) {
+      if (Character.isLowSurrogate(chars.charAt(0))) {
+        ByteBufUtil.writeUtf8(buffer, new String(new char[]{highSurrogate, chars.charAt(0)}));
+        start = 1;
+      } else {
+        ByteBufUtil.writeUtf8(buffer, String.valueOf(highSurrogate));
+      }
+      highSurrogate = NO_SURROGATE;
+    }
+    if (end > start && Character.isHighSurrogate(chars.charAt(end - 1))) {
+      highSurrogate = chars.charAt(--end);
+    }
+    if (end > start) {
+      ByteBufUtil.writeUtf8(buffer,
+          start == 0 && end == chars.length() ? chars : CharBuffer.wrap(chars, start, end));
+    }
+  }
+
+  private void flushSurrogate() {
+    if (highSurrogate != NO_SURROGATE) {
+      ByteBufUtil.writeUtf8(buffer, String.valueOf(highSurrogate));
+      highSurrogate = NO_SURROGATE;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.handlebars;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.google.common.io.CharStreams;
+import com.google.common.io.Resources;
+import io.knotx.knot.templating.handlebars.LazyJsonObject;
+import io.knotx.knot.templating.handlebars.LazyJsonValueResolver;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.io.InputStreamReader;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyJsonValueResolverTest {
+
+  private String expected;
+  private Template template;
+
+  @Before
+  public void before() throws Exception {
+    template = new Handlebars().compileInline(readFile("sample.hbs"));
+    expected = readFile("expected").trim();
+  }
+
+  @Test
+  public void LazyJsonResolver_whenApplyingFileBasedBytes_expectVariablesResolved()
+      throws Exception {
+    Context context = Context
+        .newBuilder(LazyJsonObject.of(Buffer.buffer(readFile("testObject.json"))))
+        .push(LazyJsonValueResolver.INSTANCE)
+        .build();
+    String compiled = template.apply(context).trim();
+
+    assertThat(compiled, equalTo(expected));
+  }
+
+  @Test
+  public void LazyJsonResolver_whenApplyingEncodedJsonObject_expectVariablesResolved()
+      throws Exception {
+    JsonObject model = new JsonObject(readFile("testObject.json"));
+    Context context = Context.newBuilder(LazyJsonObject.of(Buffer.buffer(model.encode())))
+        .push(LazyJsonValueResolver.INSTANCE)
+        .build();
+    String compiled = template.apply(context).trim();
+
+    assertThat(compiled, equalTo(expected));
+  }
+
+  @Test
+  public void get_whenNestedValues_expectSameValuesAsJsonObject() {
+    JsonObject model = new JsonObject()
+        .put("text", "zażółć")
+        .put("number", 2)
+        .put("long", 3000000000L)
+        .put("decimal", 1.5)
+        .put("nested", new JsonObject().put("flag", true).putNull("empty"));
+    LazyJsonObject view = LazyJsonObject.of(Buffer.buffer(model.encode()));
+
+    assertThat(view.get("text"), equalTo("zażółć"));
+    assertThat(view.get("number"), equalTo(2));
+    assertThat(view.get("long"), equalTo(3000000000L));
+    assertThat(view.get("decimal"), equalTo(1.5));
+    assertThat(((LazyJsonObject) view.get("nested")).get("flag"), equalTo(true));
+    assertThat(((LazyJsonObject) view.get("nested")).containsKey("empty"), equalTo(true));
+    assertThat(view.get("nested").toString(), equalTo("{\"flag\":true,\"empty\":null}"));
+    assertThat(LazyJsonObject.of(Buffer.buffer("{\"arr\":[1,[2],{\"a\":3}]}")).get("arr")
+        .toString(), equalTo("[1,[2],{\"a\":3}]"));
+    assertThat(view.keySet(), equalTo(model.fieldNames()));
+    assertThat(view.size(), equalTo(5));
+  }
+
+  private String readFile(String path) throws Exception {
+    return CharStreams
+        .toString(new InputStreamReader(Resources.getResource(path).openStream(), "UTF-8"));
+  }
+}
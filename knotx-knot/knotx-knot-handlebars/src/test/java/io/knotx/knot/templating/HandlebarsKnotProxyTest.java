@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.knot.templating.impl.HandlebarsKnotProxyImpl;
+import io.knotx.util.Fingerprint;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class HandlebarsKnotProxyTest {
+
+  private static final String SNIPPET = "<script data-knotx-knots=\"services,handlebars\" "
+      + "type=\"text/knotx-snippet\">{{recordRender}}<p>{{_result.message}}</p></script>";
+
+  private static final String SLOW_SNIPPET = "<script data-knotx-knots=\"handlebars\" "
+      + "type=\"text/knotx-snippet\">{{recordRender id=_result.message sleep=_result.sleep}}"
+      + "<p>{{_result.message}}</p></script>";
+
+  private static final String FAST_SNIPPET = "<script data-knotx-knots=\"handlebars\" "
+      + "type=\"text/knotx-snippet\">{{recordRender id=_result.message}}"
+      + "<b>{{_result.message}}</b></script>";
+
+  private static final JsonObject DEFAULT_CONFIG = new JsonObject();
+
+  private static final JsonObject OFFLOAD_CONFIG = new JsonObject()
+      .put("rendering", new JsonObject()
+          .put("offload", true)
+          .put("poolSize", 2)
+          .put("offloadThreshold", 10L));
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Before
+  public void setUp() {
+    RenderRecordingHelper.RENDER_THREADS.clear();
+    RenderRecordingHelper.RENDER_THREAD_BY_ID.clear();
+  }
+
+  @Test
+  public void process_whenIdenticalSnippetsWithSameContext_expectRenderedOnce(
+      TestContext testContext) {
+    List<Fragment> fragments = Arrays.asList(
+        snippet("first", Fingerprint.of("services=offers")),
+        snippet("first", Fingerprint.of("services=offers")));
+
+    process(testContext, DEFAULT_CONFIG, fragments, () -> {
+      testContext.assertEquals(1, RenderRecordingHelper.RENDER_THREADS.size());
+      assertThat(fragments.get(0).content(), equalTo("<p>first</p>"));
+      assertThat(fragments.get(1).contentBytes(),
+          sameInstance(fragments.get(0).contentBytes()));
+    });
+  }
+
+  @Test
+  public void process_whenIdenticalSnippetsWithDifferentContexts_expectRenderedSeparately(
+      TestContext testContext) {
+    List<Fragment> fragments = Arrays.asList(
+        snippet("first", Fingerprint.of("services=offers")),
+        snippet("second", Fingerprint.of("services=deals")));
+
+    process(testContext, DEFAULT_CONFIG, fragments, () -> {
+      testContext.assertEquals(2, RenderRecordingHelper.RENDER_THREADS.size());
+      assertThat(fragments.get(0).content(), equalTo("<p>first</p>"));
+      assertThat(fragments.get(1).content(), equalTo("<p>second</p>"));
+    });
+  }
+
+  @Test
+  public void process_whenContextModifiedAfterFingerprintSet_expectRenderedSeparately(
+      TestContext testContext) {
+    Fragment modified = snippet("first", Fingerprint.of("services=offers"));
+    modified.context().getJsonObject("_result").put("message", "changed");
+    List<Fragment> fragments = Arrays.asList(
+        snippet("first", Fingerprint.of("services=offers")), modified);
+
+    process(testContext, DEFAULT_CONFIG, fragments, () -> {
+      testContext.assertEquals(2, RenderRecordingHelper.RENDER_THREADS.size());
+      assertThat(fragments.get(1).content(), equalTo("<p>changed</p>"));
+      assertThat(fragments.get(1).contentBytes(),
+          not(sameInstance(fragments.get(0).contentBytes())));
+    });
+  }
+
+  @Test
+  public void process_whenOffloadEnabled_expectSlowSnippetsRenderedOnRenderPoolInPageOrder(
+      TestContext testContext) {
+    // the first request measures the rendering time of the snippets
+    process(testContext, OFFLOAD_CONFIG, page(), () -> {
+      RenderRecordingHelper.RENDER_THREAD_BY_ID.clear();
+      List<RecordingFragment> fragments = page();
+
+      process(testContext, OFFLOAD_CONFIG, fragments, () -> {
+        Map<Object, String> renderThreads = RenderRecordingHelper.RENDER_THREAD_BY_ID;
+        assertThat(renderThreads.get("first"), startsWith("knotx-handlebars-render"));
+        assertThat(renderThreads.get("second"), not(startsWith("knotx-handlebars-render")));
+        assertThat(renderThreads.get("third"), startsWith("knotx-handlebars-render"));
+
+        assertThat(fragments.get(0).content(), equalTo("<p>first</p>"));
+        assertThat(fragments.get(1).content(), equalTo("<b>second</b>"));
+        assertThat(fragments.get(2).content(), equalTo("<p>third</p>"));
+        fragments.forEach(fragment ->
+            assertThat(fragment.contentWrittenOn, startsWith("vert.x-eventloop-thread")));
+      });
+    });
+  }
+
+  private Fragment snippet(String message, Fingerprint contextFingerprint) {
+    Fragment fragment = Fragment.snippet(Arrays.asList("services", "handlebars"), SNIPPET);
+    fragment.context().put("_result", new JsonObject().put("message", message));
+    return fragment.contextFingerprint(contextFingerprint);
+  }
+
+  /**
+   * The first snippet renders longer than the third one, so the offloaded snippets complete in
+   * reverse order.
+   */
+  private List<RecordingFragment> page() {
+    return Arrays.asList(
+        new RecordingFragment(SLOW_SNIPPET, "first", 60),
+        new RecordingFragment(FAST_SNIPPET, "second", 0),
+        new RecordingFragment(SLOW_SNIPPET, "third", 20));
+  }
+
+  private void process(TestContext testContext, JsonObject config,
+      List<? extends Fragment> fragments, Runnable assertions) {
+    HandlebarsKnotProxyImpl proxy = new HandlebarsKnotProxyImpl(vertx.vertx(),
+        new HandlebarsKnotConfiguration(config));
+    Async async = testContext.async();
+    proxy.process(new KnotContext().setFragments(new ArrayList<>(fragments)), result -> {
+      try {
+        testContext.assertTrue(result.succeeded());
+        assertions.run();
+      } catch (AssertionError e) {
+        testContext.fail(e);
+      }
+      async.complete();
+    });
+  }
+
+  private static class RecordingFragment extends Fragment {
+
+    private volatile String contentWrittenOn;
+
+    RecordingFragment(String snippet, String message, long sleep) {
+      super(Collections.singletonList("handlebars"), snippet, new JsonObject()
+          .put("_result", new JsonObject().put("message", message).put("sleep", sleep)));
+    }
+
+    @Override
+    public Fragment content(Buffer content) {
+      contentWrittenOn = Thread.currentThread().getName();
+      return super.content(content);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating;
+
+import com.github.jknack.handlebars.Options;
+import io.knotx.knot.templating.handlebars.CustomHandlebarsHelper;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the thread each snippet using <tt>{{recordRender}}</tt> is rendered on. The optional
+ * <tt>id</tt> parameter identifies the snippet, <tt>sleep</tt> slows down its rendering (in ms).
+ */
+public class RenderRecordingHelper implements CustomHandlebarsHelper<Object> {
+
+  static final List<String> RENDER_THREADS = new CopyOnWriteArrayList<>();
+
+  static final Map<Object, String> RENDER_THREAD_BY_ID = new ConcurrentHashMap<>();
+
+  @Override
+  public String getName() {
+    return "recordRender";
+  }
+
+  @Override
+  public Object apply(Object context, Options options) {
+    String thread = Thread.currentThread().getName();
+    RENDER_THREADS.add(thread);
+    Object id = options.hash("id");
+    if (id != null) {
+      RENDER_THREAD_BY_ID.put(id, thread);
+    }
+    try {
+      Thread.sleep(((Number) options.hash("sleep", 0)).longValue());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "";
+  }
+}
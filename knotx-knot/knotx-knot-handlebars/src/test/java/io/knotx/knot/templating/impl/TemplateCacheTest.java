@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.knot.templating.impl.TemplateCache.CompiledTemplate;
+import io.vertx.core.Vertx;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TemplateCacheTest {
+
+  private static final String SNIPPET = "<script data-knotx-knots=\"handlebars\" "
+      + "type=\"text/knotx-snippet\">{{_result.message}}</script>";
+
+  private Vertx vertx;
+
+  private Handlebars handlebars;
+
+  private AtomicInteger compilations;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    handlebars = new Handlebars();
+    compilations = new AtomicInteger();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void get_whenSameSnippetFromManyInstances_expectSnippetCompiledOnce() throws Exception {
+    TemplateCache first = TemplateCache.get(vertx, 1024 * 1024);
+    TemplateCache second = TemplateCache.get(vertx, 1024 * 1024);
+
+    Template compiled = first.get(snippet(), this::compile).template();
+
+    assertThat(second, sameInstance(first));
+    assertThat(second.get(snippet(), this::compile).template(), sameInstance(compiled));
+    assertThat(compilations.get(), equalTo(1));
+  }
+
+  @Test
+  public void get_whenSnippetLargerThanCache_expectSnippetCompiledEachTime() throws Exception {
+    TemplateCache cache = TemplateCache.get(vertx, 16);
+
+    cache.get(snippet(), this::compile);
+    cache.get(snippet(), this::compile);
+
+    assertThat(compilations.get(), equalTo(2));
+  }
+
+  @Test
+  public void recordRender_expectMovingAverageOfRenderingTime() throws Exception {
+    CompiledTemplate compiled = TemplateCache.get(vertx, 1024 * 1024).get(snippet(), this::compile);
+
+    compiled.recordRender(800L);
+    compiled.recordRender(1600L);
+
+    assertThat(compiled.renderTime(), equalTo(900L));
+  }
+
+  private Fragment snippet() {
+    return Fragment.snippet(Collections.singletonList("handlebars"), SNIPPET);
+  }
+
+  private Template compile() throws Exception {
+    compilations.incrementAndGet();
+    return handlebars.compileInline(SNIPPET);
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+public class Utf8BufferWriterTest {
+
+  @Test
+  public void toBuffer_whenMultibyteCharacters_expectUtf8Bytes() throws Exception {
+    Utf8BufferWriter writer = new Utf8BufferWriter(0);
+
+    writer.write("<p>zażółć ");
+    writer.write("gęślą".toCharArray(), 0, 5);
+    writer.append("</p> €", 0, 4);
+
+    assertThat(writer.toBuffer(), equalTo(Buffer.buffer("<p>zażółć gęślą</p>")));
+  }
+
+  @Test
+  public void toBuffer_whenSurrogatePairSplitBetweenWrites_expectOneCharacter() throws Exception {
+    String emoji = "😀";
+    Utf8BufferWriter writer = new Utf8BufferWriter(16);
+
+    writer.write("a" + emoji.charAt(0));
+    writer.write(emoji.charAt(1) + "b");
+
+    assertThat(writer.toBuffer(), equalTo(Buffer.buffer("a" + emoji + "b")));
+  }
+}
@@ -15,7 +15,9 @@
  */
 package io.knotx.knot.service;
 
+import io.knotx.exceptions.ConfigurationException;
 import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,9 +26,19 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class ServiceKnotConfiguration {
 
+  private static final long DEFAULT_SERVICE_CACHE_MAX_SIZE = 32 * 1024 * 1024; // 32 MB
+
+  private static final long DEFAULT_RESPONSE_OFFLOAD_SIZE = 256 * 1024; // 256 KB
+
   private final String address;
   private List<ServiceMetadata> services;
   private DeliveryOptions deliveryOptions;
+  private long serviceCacheMaxSize;
+  private long coalescingMaxWait;
+  private String defaultFallback;
+  private long responseMaxSize;
+  private long responseOffloadSize;
+  private boolean resultPruning;
 
 
   public ServiceKnotConfiguration(JsonObject config) {
@@ -39,11 +51,25 @@ public class ServiceKnotConfiguration {
           metadata.address = item.getString("address");
           metadata.params = item.getJsonObject("params");
           metadata.cacheKey = item.getString("cacheKey");
+          if (item.containsKey("cache")) {
+            metadata.cache = new CacheMetadata(item.getJsonObject("cache"));
+          }
+          metadata.coalesce = item.getBoolean("coalesce", metadata.cache != null);
+          metadata.timeout = item.getLong("timeout", 0L);
           return metadata;
         }).collect(Collectors.toList());
     deliveryOptions =
         config.containsKey("deliveryOptions") ? new DeliveryOptions(config.getJsonObject("deliveryOptions"))
             : new DeliveryOptions();
+    serviceCacheMaxSize = config.getJsonObject("serviceCache", new JsonObject())
+        .getLong("maxSize", DEFAULT_SERVICE_CACHE_MAX_SIZE);
+    coalescingMaxWait = config.getJsonObject("coalescing", new JsonObject())
+        .getLong("maxWait", deliveryOptions.getSendTimeout());
+    defaultFallback = config.getString("defaultFallback");
+    JsonObject responseBody = config.getJsonObject("responseBody", new JsonObject());
+    responseMaxSize = responseBody.getLong("maxSize", 0L);
+    responseOffloadSize = responseBody.getLong("offloadSize", DEFAULT_RESPONSE_OFFLOAD_SIZE);
+    resultPruning = config.getBoolean("resultPruning", false);
   }
 
   public List<ServiceMetadata> getServices() {
@@ -58,12 +84,58 @@ public class ServiceKnotConfiguration {
     return deliveryOptions;
   }
 
+  public long getServiceCacheMaxSize() {
+    return serviceCacheMaxSize;
+  }
+
+  /**
+   * @return time in ms a call waits for the result of an identical call in progress before it
+   * calls the service on its own
+   */
+  public long getCoalescingMaxWait() {
+    return coalescingMaxWait;
+  }
+
+  /**
+   * @return markup rendered instead of the body of a snippet without its own fallback when its
+   * services fail, <tt>null</tt> when such failure fails the whole page
+   */
+  public String getDefaultFallback() {
+    return defaultFallback;
+  }
+
+  /**
+   * @return maximum size (in bytes) of the Adapter response body, <tt>0</tt> when it is not limited
+   */
+  public long getResponseMaxSize() {
+    return responseMaxSize;
+  }
+
+  /**
+   * @return size (in bytes) of the Adapter response body above which it is parsed on a worker
+   * thread instead of the event loop
+   */
+  public long getResponseOffloadSize() {
+    return responseOffloadSize;
+  }
+
+  /**
+   * @return <tt>true</tt> if service results are pruned to the paths referenced by the snippet
+   * template before they are put into the Fragment context
+   */
+  public boolean isResultPruning() {
+    return resultPruning;
+  }
+
   public static class ServiceMetadata {
 
     private String name;
     private String address;
     private JsonObject params;
     private String cacheKey;
+    private CacheMetadata cache;
+    private boolean coalesce;
+    private long timeout;
 
     @Override
     public boolean equals(Object obj) {
@@ -73,7 +145,10 @@ public class ServiceKnotConfiguration {
             .append(name, other.getName())
             .append(address, other.getAddress())
             .append(params, other.getParams())
-            .append(cacheKey, other.getCacheKey()).isEquals();
+            .append(cacheKey, other.getCacheKey())
+            .append(cache, other.getCache())
+            .append(coalesce, other.isCoalesce())
+            .append(timeout, other.getTimeout()).isEquals();
       } else {
         return false;
       }
@@ -86,6 +161,9 @@ public class ServiceKnotConfiguration {
           .append(address)
           .append(params)
           .append(cacheKey)
+          .append(cache)
+          .append(coalesce)
+          .append(timeout)
           .toHashCode();
     }
 
@@ -120,5 +198,119 @@ public class ServiceKnotConfiguration {
     void setCacheKey(String cacheKey) {
       this.cacheKey = cacheKey;
     }
+
+    /**
+     * @return shared cache settings of the service, <tt>null</tt> if its results are cached only
+     * within a page request
+     */
+    public CacheMetadata getCache() {
+      return cache;
+    }
+
+    void setCache(CacheMetadata cache) {
+      this.cache = cache;
+    }
+
+    /**
+     * @return <tt>true</tt> if concurrent identical calls of the service share a single Adapter
+     * call, by default only for services with the shared cache
+     */
+    public boolean isCoalesce() {
+      return coalesce;
+    }
+
+    void setCoalesce(boolean coalesce) {
+      this.coalesce = coalesce;
+    }
+
+    /**
+     * @return time in ms the service call may take, <tt>0</tt> when it is limited only by the
+     * delivery options timeout and the request deadline
+     */
+    public long getTimeout() {
+      return timeout;
+    }
+
+    void setTimeout(long timeout) {
+      this.timeout = timeout;
+    }
+  }
+
+  /**
+   * Settings of the cache of service results shared between requests. Results are cached under the
+   * service cache key and the values of request attributes the call depends on: placeholders used
+   * in the service params and the attributes listed in <tt>vary</tt> (e.g.
+   * <tt>header.Accept-Language</tt>, <tt>param.id</tt>, <tt>uri.path</tt>).
+   */
+  public static class CacheMetadata {
+
+    private final long ttl;
+    private final long staleWhileRevalidate;
+    private final long staleIfError;
+    private final List<String> vary;
+
+    public CacheMetadata(JsonObject config) {
+      if (!config.containsKey("ttl")) {
+        throw new ConfigurationException(
+            "Service cache requires [ttl] to be set: " + config.encode());
+      }
+      ttl = config.getLong("ttl");
+      staleWhileRevalidate = config.getLong("staleWhileRevalidate", 0L);
+      staleIfError = config.getLong("staleIfError", 0L);
+      vary = config.getJsonArray("vary", new JsonArray()).stream()
+          .map(String.class::cast)
+          .sorted()
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * @return time in ms the cached result is fresh
+     */
+    public long getTtl() {
+      return ttl;
+    }
+
+    /**
+     * @return time in ms after expiration the result is still returned while it is refreshed in
+     * the background
+     */
+    public long getStaleWhileRevalidate() {
+      return staleWhileRevalidate;
+    }
+
+    /**
+     * @return time in ms after expiration the result is returned when the service call fails
+     */
+    public long getStaleIfError() {
+      return staleIfError;
+    }
+
+    public List<String> getVary() {
+      return vary;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof CacheMetadata) {
+        final CacheMetadata other = (CacheMetadata) obj;
+        return new EqualsBuilder()
+            .append(ttl, other.ttl)
+            .append(staleWhileRevalidate, other.staleWhileRevalidate)
+            .append(staleIfError, other.staleIfError)
+            .append(vary, other.vary).isEquals();
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return new HashCodeBuilder()
+          .append(ttl)
+          .append(staleWhileRevalidate)
+          .append(staleIfError)
+          .append(vary)
+          .toHashCode();
+    }
   }
 }
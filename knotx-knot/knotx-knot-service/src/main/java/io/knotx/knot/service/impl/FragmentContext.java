@@ -16,12 +16,18 @@
 package io.knotx.knot.service.impl;
 
 import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.FragmentContentExtractor;
+import io.knotx.knot.service.impl.ServiceDeclarations.Declarations;
 import io.knotx.knot.service.service.ServiceAttributeUtil;
 import io.knotx.knot.service.service.ServiceEntry;
 import io.reactivex.Observable;
 import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.jsoup.Jsoup;
@@ -33,9 +39,13 @@ class FragmentContext {
 
   private static final String DATA_SERVICE = "data-knotx-service.*";
   private static final String DATA_PARAMS = "data-knotx-params.*";
+  private static final String DATA_FALLBACK = "data-knotx-fallback";
+  private static final Set<String> PRUNABLE_KNOTS = new HashSet<>(
+      Arrays.asList("services", "handlebars"));
 
   private Fragment fragment;
   List<ServiceEntry> services;
+  private ResultPaths resultPaths;
 
   private FragmentContext() {
     //hidden constructor
@@ -49,7 +59,36 @@ class FragmentContext {
    * @return a FragmentContext that wraps given fragment.
    */
   public static FragmentContext from(Fragment fragment) {
-    Document document = Jsoup.parseBodyFragment(fragment.content());
+    return new FragmentContext()
+        .fragment(fragment)
+        .services(parseServices(fragment.content()))
+        .resultPaths(ResultPaths.of(fragment.content()));
+  }
+
+  /**
+   * Factory method that creates context from the {@link Fragment}, reusing services and params
+   * extracted from the same snippet before.
+   *
+   * @param fragment - fragment from which the context will be created.
+   * @param declarations - services extracted from recently processed snippets.
+   * @return a FragmentContext that wraps given fragment.
+   */
+  static FragmentContext from(Fragment fragment, ServiceDeclarations declarations) {
+    Declarations snippetDeclarations = declarations.get(fragment);
+    return new FragmentContext()
+        .fragment(fragment)
+        .services(snippetDeclarations.services)
+        .resultPaths(snippetDeclarations.resultPaths);
+  }
+
+  /**
+   * Extracts all services and params declared in the snippet to separate entries.
+   *
+   * @param snippet - snippet markup
+   * @return list of services declared in the snippet
+   */
+  static List<ServiceEntry> parseServices(String snippet) {
+    Document document = Jsoup.parseBodyFragment(snippet);
     Element scriptTag = document.body().child(0);
 
     List<Attribute> attributes = scriptTag.attributes().asList();
@@ -66,14 +105,9 @@ class FragmentContext {
             .toMap(attribute -> ServiceAttributeUtil.extractNamespace(attribute.getKey()),
                 Function.identity()));
 
-    return new FragmentContext()
-        .fragment(fragment)
-        .services(
-            serviceAttributes.entrySet().stream()
-                .map(entry -> new ServiceEntry(entry.getValue(),
-                    paramsAttributes.get(entry.getKey())))
-                .collect(Collectors.toList())
-        );
+    return serviceAttributes.entrySet().stream()
+        .map(entry -> new ServiceEntry(entry.getValue(), paramsAttributes.get(entry.getKey())))
+        .collect(Collectors.toList());
   }
 
   /**
@@ -84,6 +118,39 @@ class FragmentContext {
     return Observable.fromIterable(services);
   }
 
+  /**
+   * @return paths of the service results referenced by the snippet template, {@link
+   * ResultPaths#ALL} when the snippet is processed by Knots other than Service and Handlebars Knot,
+   * since they may need other parts of the results.
+   */
+  ResultPaths resultPaths() {
+    return PRUNABLE_KNOTS.containsAll(fragment.knots()) ? resultPaths : ResultPaths.ALL;
+  }
+
+  /**
+   * @return markup declared in the <tt>data-knotx-fallback</tt> attribute of the snippet.
+   */
+  Optional<String> fallback() {
+    Element scriptTag = Jsoup.parseBodyFragment(fragment.content()).body().child(0);
+    return scriptTag.hasAttr(DATA_FALLBACK)
+        ? Optional.of(scriptTag.attr(DATA_FALLBACK))
+        : Optional.empty();
+  }
+
+  /**
+   * Replaces the body of the snippet with the fallback markup, so the next Knots process the
+   * fallback instead of the original body.
+   *
+   * @param markup - fallback markup
+   * @return this context
+   */
+  FragmentContext fallbackTo(String markup) {
+    String content = fragment.content();
+    fragment.content(content.substring(0, FragmentContentExtractor.openingTagEnd(content)) + markup
+        + content.substring(content.lastIndexOf('<')));
+    return this;
+  }
+
   /**
    * @return a fragment wrapped in this context.
    */
@@ -101,4 +168,9 @@ class FragmentContext {
     return this;
   }
 
+  private FragmentContext resultPaths(ResultPaths resultPaths) {
+    this.resultPaths = resultPaths;
+    return this;
+  }
+
 }
@@ -15,26 +15,41 @@
  */
 package io.knotx.knot.service.impl;
 
+import com.codahale.metrics.MetricRegistry;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.knot.service.ServiceKnotConfiguration;
 import io.knotx.knot.service.service.ServiceEngine;
 import io.knotx.knot.service.service.ServiceEntry;
+import io.knotx.metrics.KnotxMetrics;
+import io.knotx.util.Fingerprint;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.Vertx;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 public class FragmentProcessor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(FragmentProcessor.class);
 
+  private static final String FALLBACK_METRICS_PREFIX = "knotx.knot.service.fallback";
+
   private final ServiceEngine serviceEngine;
 
+  private final String defaultFallback;
+
+  private final boolean resultPruning;
+
   public FragmentProcessor(Vertx vertx, ServiceKnotConfiguration configuration) {
     this.serviceEngine = new ServiceEngine(vertx, configuration);
+    this.defaultFallback = configuration.getDefaultFallback();
+    this.resultPruning = configuration.isResultPruning();
   }
 
   public Single<FragmentContext> processSnippet(final FragmentContext fragmentContext,
@@ -42,15 +57,34 @@ public class FragmentProcessor {
     if (LOGGER.isTraceEnabled()) {
       LOGGER.trace("Processing Handlebars snippet {}", fragmentContext.fragment());
     }
+    final Set<String> dataKeys = new TreeSet<>();
     return Observable.just(fragmentContext)
         .flatMap(FragmentContext::services)
         .map(serviceEngine::mergeWithConfiguration)
         .doOnNext(this::traceService)
+        .doOnNext(serviceEntry -> dataKeys
+            .add(serviceEntry.getNamespace() + '=' + serviceEntry.getCacheKey()))
         .flatMap(serviceEntry ->
             fetchServiceData(serviceEntry, request).toObservable()
                 .map(serviceEntry::getResultWithNamespaceAsKey))
         .reduce(new JsonObject(), JsonObject::mergeIn)
-        .map(results -> applyData(fragmentContext, results));
+        .map(results -> applyData(fragmentContext, results, dataKeys))
+        .onErrorResumeNext(error -> fallback(fragmentContext, error));
+  }
+
+  private Single<FragmentContext> fallback(FragmentContext fragmentContext, Throwable error) {
+    Optional<String> fallback = fragmentContext.fallback();
+    if (!fallback.isPresent() && defaultFallback == null) {
+      return Single.error(error);
+    }
+    String services = fragmentContext.services
+        .stream()
+        .map(ServiceEntry::getName)
+        .sorted()
+        .collect(Collectors.joining("+"));
+    LOGGER.warn("Services [{}] of the snippet failed, rendering its fallback", services, error);
+    KnotxMetrics.registry().meter(MetricRegistry.name(FALLBACK_METRICS_PREFIX, services)).mark();
+    return Single.just(fragmentContext.fallbackTo(fallback.orElse(defaultFallback)));
   }
 
   private Single<JsonObject> fetchServiceData(ServiceEntry service, KnotContext request) {
@@ -64,10 +98,22 @@ public class FragmentProcessor {
     }
   }
 
+  /**
+   * Within the request, results of service calls with the same cache key are the same. Snippets
+   * which context is made only of such results get the same context fingerprint, so the Handlebars
+   * Knot renders identical snippets once.
+   */
   private FragmentContext applyData(final FragmentContext fragmentContext,
-      JsonObject serviceResult) {
+      JsonObject serviceResult, Set<String> dataKeys) {
     LOGGER.trace("Applying data to snippet {}", fragmentContext);
-    fragmentContext.fragment().context().mergeIn(serviceResult);
+    final JsonObject context = fragmentContext.fragment().context();
+    final boolean onlyServiceData = context.isEmpty();
+    context.mergeIn(resultPruning
+        ? fragmentContext.resultPaths().prune(serviceResult)
+        : serviceResult);
+    fragmentContext.fragment().contextFingerprint(onlyServiceData
+        ? Fingerprint.of(String.join("\u0000", dataKeys))
+        : null);
     return fragmentContext;
   }
 
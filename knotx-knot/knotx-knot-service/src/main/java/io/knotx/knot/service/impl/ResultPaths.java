@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.impl;
+
+import io.knotx.fragments.FragmentContentExtractor;
+import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Paths of the Fragment context referenced by the Handlebars template of a snippet, e.g.
+ * <tt>_result.items</tt> for <tt>{{#each _result.items}}</tt>. Service results are pruned to those
+ * paths before they are put into the Fragment context, so the unused parts of large results are not
+ * sent to the next Knots.
+ * <p>
+ * Every referenced path is kept with its whole subtree, so paths relative to a block (e.g. inside
+ * <tt>#each</tt>) are kept together with the block path. Templates with references that can not be
+ * resolved statically (partials, <tt>lookup</tt>, <tt>this</tt> on the top level, segment literals)
+ * keep the whole results.
+ */
+class ResultPaths {
+
+  static final ResultPaths ALL = new ResultPaths(null);
+
+  private static final Pattern EXPRESSION = Pattern.compile("\\{\\{(.*?)}}", Pattern.DOTALL);
+
+  private static final Pattern TOKEN = Pattern
+      .compile("\"[^\"]*\"|'[^']*'|\\|[^|]*\\||[^\\s()=|]+=?");
+
+  private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+  private static final Set<String> KEYWORDS = new HashSet<>(
+      Arrays.asList("else", "as", "true", "false", "null", "undefined"));
+
+  private static final String ROOT = "@root.";
+
+  private static final String PARENT = "../";
+
+  private final Node root;
+
+  private ResultPaths(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Collects paths referenced by the template of the snippet.
+   *
+   * @param snippet - snippet markup
+   * @return referenced paths or {@link #ALL} when they can not be resolved statically
+   */
+  static ResultPaths of(String snippet) {
+    final String template = StringUtils.substringBeforeLast(
+        snippet.substring(FragmentContentExtractor.openingTagEnd(snippet)), "<");
+    final Node root = new Node();
+    final Matcher expressions = EXPRESSION.matcher(template);
+    while (expressions.find()) {
+      final String expression = StringUtils.strip(expressions.group(1), "{}~&#^/ \t\r\n");
+      if (expression.startsWith("!")) {
+        continue;
+      }
+      if (expression.startsWith(">") || !collect(expression, root)) {
+        return ALL;
+      }
+    }
+    return new ResultPaths(root);
+  }
+
+  boolean isAll() {
+    return root == null;
+  }
+
+  /**
+   * @return a copy of the results containing only the referenced paths
+   */
+  JsonObject prune(JsonObject results) {
+    return isAll() ? results : prune(results, root);
+  }
+
+  private static boolean collect(String expression, Node root) {
+    final Matcher tokens = TOKEN.matcher(expression);
+    while (tokens.find()) {
+      String token = tokens.group();
+      if (token.endsWith("=") || token.charAt(0) == '"' || token.charAt(0) == '\''
+          || token.charAt(0) == '|' || KEYWORDS.contains(token)
+          || NUMBER.matcher(token).matches()) {
+        continue;
+      }
+      if ("lookup".equals(token) || token.indexOf('[') >= 0) {
+        return false;
+      }
+      if (token.startsWith(ROOT)) {
+        token = token.substring(ROOT.length());
+      } else if (token.charAt(0) == '@') {
+        continue;
+      }
+      while (token.startsWith(PARENT)) {
+        token = token.substring(PARENT.length());
+      }
+      token = StringUtils.removeStart(StringUtils.removeStart(token, "this."), "./");
+      if (token.isEmpty() || "this".equals(token) || ".".equals(token)) {
+        return false;
+      }
+      root.add(StringUtils.split(token, "./"));
+    }
+    return true;
+  }
+
+  private static JsonObject prune(JsonObject object, Node node) {
+    final JsonObject pruned = new JsonObject();
+    node.children.forEach((key, child) -> {
+      if (object.containsKey(key)) {
+        Object value = object.getValue(key);
+        if (!child.whole && value instanceof JsonObject) {
+          value = prune((JsonObject) value, child);
+        }
+        pruned.put(key, value);
+      }
+    });
+    return pruned;
+  }
+
+  private static class Node {
+
+    private final Map<String, Node> children = new HashMap<>();
+
+    private boolean whole;
+
+    private void add(String[] path) {
+      Node node = this;
+      for (String segment : path) {
+        if (node.whole) {
+          return;
+        }
+        node = node.children.computeIfAbsent(segment, key -> new Node());
+      }
+      node.whole = true;
+      node.children.clear();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.knot.service.service.ServiceEntry;
+import io.knotx.util.Fingerprint;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Services declared in the recently processed snippets and paths of the results referenced by
+ * their templates, identified by the fingerprint of the snippet markup. Snippets are parsed only
+ * once, the entries are never modified, since
+ * {@link io.knotx.knot.service.service.ServiceEngine#mergeWithConfiguration(ServiceEntry)} works
+ * on copies.
+ */
+class ServiceDeclarations {
+
+  private static final int MAX_SNIPPETS = 1000;
+
+  private final Cache<Fingerprint, Declarations> declarations = CacheBuilder.newBuilder()
+      .maximumSize(MAX_SNIPPETS)
+      .build();
+
+  Declarations get(Fragment fragment) {
+    Fingerprint fingerprint = fragment.fingerprint();
+    Declarations snippetDeclarations = declarations.getIfPresent(fingerprint);
+    if (snippetDeclarations == null) {
+      String snippet = fragment.content();
+      snippetDeclarations = new Declarations(
+          Collections.unmodifiableList(FragmentContext.parseServices(snippet)),
+          ResultPaths.of(snippet));
+      declarations.put(fingerprint, snippetDeclarations);
+    }
+    return snippetDeclarations;
+  }
+
+  static class Declarations {
+
+    final List<ServiceEntry> services;
+
+    final ResultPaths resultPaths;
+
+    private Declarations(List<ServiceEntry> services, ResultPaths resultPaths) {
+      this.services = services;
+      this.resultPaths = resultPaths;
+    }
+  }
+}
@@ -38,8 +38,11 @@ public class ServiceKnotProxyImpl extends AbstractKnotProxy {
 
   private FragmentProcessor snippetProcessor;
 
+  private final ServiceDeclarations serviceDeclarations;
+
   public ServiceKnotProxyImpl(Vertx vertx, ServiceKnotConfiguration configuration) {
     this.snippetProcessor = new FragmentProcessor(vertx, configuration);
+    this.serviceDeclarations = new ServiceDeclarations();
   }
 
   @Override
@@ -49,7 +52,7 @@ public class ServiceKnotProxyImpl extends AbstractKnotProxy {
             Observable.fromIterable(fragments)
             .filter(fragment -> fragment.knots().contains(SUPPORTED_FRAGMENT_ID))
             .doOnNext(this::traceFragment)
-            .map(FragmentContext::from)
+            .map(fragment -> FragmentContext.from(fragment, serviceDeclarations))
             .flatMapSingle(
                 fragmentContext -> snippetProcessor.processSnippet(fragmentContext, knotContext))
             .toList()
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.Vertx;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service calls in progress. Concurrent calls with the same key share a single Adapter call; each
+ * of them gets its own copy of the result. A call joining the one in progress waits for it at most
+ * <tt>maxWait</tt> ms and then calls the Adapter on its own.
+ * <p>
+ * The calls are tracked per Service Knot instance, so they are always made and completed on the
+ * same event loop.
+ */
+class InFlightCalls {
+
+  private final Map<ServiceCallKey, Single<JsonObject>> calls = new HashMap<>();
+
+  private final long maxWait;
+
+  private final Scheduler scheduler;
+
+  InFlightCalls(Vertx vertx, long maxWait) {
+    this.maxWait = maxWait;
+    this.scheduler = RxHelper.scheduler(vertx);
+  }
+
+  Single<JsonObject> call(ServiceCallKey key, Supplier<Single<JsonObject>> call) {
+    Single<JsonObject> inFlight = calls.get(key);
+    if (inFlight == null) {
+      Single<JsonObject> shared = call.get()
+          .doFinally(() -> calls.remove(key))
+          .cache();
+      calls.put(key, shared);
+      return shared.map(JsonObject::copy);
+    }
+    return inFlight
+        .timeout(maxWait, TimeUnit.MILLISECONDS, scheduler, Single.defer(call::get))
+        .map(JsonObject::copy);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the Adapter response body straight from the {@link Buffer} bytes, without converting it to
+ * a String first.
+ */
+final class ResponseBody {
+
+  private ResponseBody() {
+    //util constructor
+  }
+
+  /**
+   * @return {@link JsonObject} or {@link JsonArray} of the body, <tt>null</tt> when the body is
+   * neither a Json Object nor a Json Array (e.g. a plain text error page)
+   * @throws DecodeException when the body starts as a Json Object or Array but is not a valid Json
+   */
+  @SuppressWarnings("unchecked")
+  static Object parse(Buffer body) {
+    try (InputStream in = new ByteBufInputStream(body.getByteBuf());
+        JsonParser parser = Json.mapper.getFactory().createParser(in)) {
+      final JsonToken token = firstToken(parser);
+      if (token == JsonToken.START_OBJECT) {
+        return new JsonObject(Json.mapper.readValue(parser, Map.class));
+      } else if (token == JsonToken.START_ARRAY) {
+        return new JsonArray(Json.mapper.readValue(parser, List.class));
+      }
+      return null;
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode: " + e.getMessage());
+    }
+  }
+
+  /**
+   * @return the first token of the body, <tt>null</tt> when the body does not start with a Json
+   * value
+   */
+  private static JsonToken firstToken(JsonParser parser) throws IOException {
+    try {
+      return parser.nextToken();
+    } catch (JsonParseException e) {
+      return null;
+    }
+  }
+}
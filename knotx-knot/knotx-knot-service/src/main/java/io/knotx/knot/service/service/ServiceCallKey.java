@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Key of a service call shared between requests, used both by {@link ServiceResultCache} and by
+ * {@link InFlightCalls}. It is made of the adapter address, the service cache key and the values
+ * of the request attributes the call depends on.
+ */
+final class ServiceCallKey {
+
+  private final String address;
+
+  private final String cacheKey;
+
+  private final Map<String, String> attributes;
+
+  private final int hash;
+
+  ServiceCallKey(String address, String cacheKey, Map<String, String> attributes) {
+    this.address = address;
+    this.cacheKey = cacheKey;
+    this.attributes = attributes;
+    this.hash = Objects.hash(address, cacheKey, attributes);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ServiceCallKey)) {
+      return false;
+    }
+    ServiceCallKey that = (ServiceCallKey) o;
+    return hash == that.hash
+        && Objects.equals(address, that.address)
+        && Objects.equals(cacheKey, that.cacheKey)
+        && attributes.equals(that.attributes);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return address + '|' + cacheKey + attributes;
+  }
+}
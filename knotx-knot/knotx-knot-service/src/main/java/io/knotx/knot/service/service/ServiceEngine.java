@@ -19,17 +19,24 @@ import io.knotx.dataobjects.AdapterRequest;
 import io.knotx.dataobjects.AdapterResponse;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.knotx.knot.service.service.ServiceResultCache.CachedResult;
 import io.knotx.reactivex.proxy.AdapterProxy;
+import io.knotx.util.Deadlines;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
-import io.vertx.core.json.JsonArray;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.Vertx;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
 public class ServiceEngine {
 
@@ -42,6 +49,16 @@ public class ServiceEngine {
 
   private final Map<String, AdapterProxy> adapters;
 
+  private final ServiceMetadataIndex services;
+
+  private final ServiceResultCache resultCache;
+
+  private final InFlightCalls inFlightCalls;
+
+  private final Scheduler scheduler;
+
+  private final Scheduler parsingScheduler;
+
   public ServiceEngine(Vertx vertx, ServiceKnotConfiguration serviceConfiguration) {
     this.configuration = serviceConfiguration;
     this.adapters = new HashMap<>();
@@ -53,49 +70,151 @@ public class ServiceEngine {
                 configuration.getDeliveryOptions())
         )
     );
+    this.services = new ServiceMetadataIndex(configuration.getServices());
+    this.resultCache = configuration.getServices().stream()
+        .anyMatch(service -> service.getCache() != null)
+        ? ServiceResultCache.get(vertx, configuration.getServiceCacheMaxSize())
+        : null;
+    this.inFlightCalls = new InFlightCalls(vertx, configuration.getCoalescingMaxWait());
+    this.scheduler = RxHelper.scheduler(vertx);
+    this.parsingScheduler = RxHelper.blockingScheduler(vertx, false);
   }
 
   public Single<JsonObject> doServiceCall(ServiceEntry serviceEntry, KnotContext knotContext) {
+    if (serviceEntry.getCache() != null && resultCache != null) {
+      return cachedServiceCall(serviceEntry, knotContext);
+    } else if (serviceEntry.isCoalesce()) {
+      return inFlightCalls.call(ServiceResultCache.key(serviceEntry, knotContext.getClientRequest()),
+          () -> callAdapter(serviceEntry, knotContext));
+    }
+    return callAdapter(serviceEntry, knotContext);
+  }
+
+  private Single<JsonObject> cachedServiceCall(ServiceEntry serviceEntry,
+      KnotContext knotContext) {
+    ServiceCallKey key = ServiceResultCache.key(serviceEntry, knotContext.getClientRequest());
+    CachedResult cached = resultCache.get(key);
+    if (cached != null && cached.isFresh()) {
+      return Single.just(cached.value());
+    }
+    if (cached != null && cached.isStaleWhileRevalidate()) {
+      if (cached.startRefresh()) {
+        callAndCache(key, serviceEntry, knotContext)
+            .doFinally(cached::endRefresh)
+            .subscribe(
+                result -> LOGGER.trace("Refreshed stale result of {}", serviceEntry.getName()),
+                error -> LOGGER.warn("Unable to refresh stale result of {}",
+                    serviceEntry.getName(), error));
+      }
+      return Single.just(cached.value());
+    }
+    return callAndCache(key, serviceEntry, knotContext)
+        .map(result -> {
+          if (cached != null && cached.isStaleIfError() && isServerError(result)) {
+            LOGGER.warn("Service {} responded with {}, returning stale result",
+                serviceEntry.getName(), statusCode(result));
+            return cached.value();
+          }
+          return result;
+        })
+        .onErrorResumeNext(error -> {
+          if (cached != null && cached.isStaleIfError()) {
+            LOGGER.warn("Service {} call failed, returning stale result", serviceEntry.getName(),
+                error);
+            return Single.just(cached.value());
+          }
+          return Single.error(error);
+        });
+  }
+
+  private Single<JsonObject> callAndCache(ServiceCallKey key, ServiceEntry serviceEntry,
+      KnotContext knotContext) {
+    Supplier<Single<JsonObject>> call = () -> callAdapter(serviceEntry, knotContext)
+        .doOnSuccess(result -> {
+          if (isSuccess(result)) {
+            resultCache.put(key, result, serviceEntry.getCache());
+          }
+        });
+    return serviceEntry.isCoalesce() ? inFlightCalls.call(key, call) : call.get();
+  }
+
+  private Single<JsonObject> callAdapter(ServiceEntry serviceEntry, KnotContext knotContext) {
     AdapterRequest adapterRequest = new AdapterRequest()
         .setRequest(knotContext.getClientRequest())
         .setParams(serviceEntry.getParams());
 
-    return adapters.get(serviceEntry.getAddress()).rxProcess(adapterRequest)
-        .map(resp -> buildResultObject(adapterRequest, resp));
+    Single<AdapterResponse> call = adapters.get(serviceEntry.getAddress())
+        .rxProcess(adapterRequest);
+    if (serviceEntry.getTimeout() > 0) {
+      call = call.timeout(serviceEntry.getTimeout(), TimeUnit.MILLISECONDS, scheduler);
+    }
+    return Deadlines.limit(call, knotContext.getClientRequest(), scheduler)
+        .flatMap(resp -> toResultObject(adapterRequest, resp));
+  }
+
+  /**
+   * Parses the response body on the event loop, unless it is larger than the offload size.
+   */
+  private Single<JsonObject> toResultObject(AdapterRequest adapterRequest,
+      AdapterResponse adapterResponse) {
+    final int size = adapterResponse.getResponse().getBody().length();
+    if (configuration.getResponseMaxSize() > 0 && size > configuration.getResponseMaxSize()) {
+      return Single.error(new IllegalStateException(String.format(
+          "Result of [%s %s] exceeds the maximum size: %d bytes",
+          adapterRequest.getRequest().getMethod(), adapterRequest.getRequest().getPath(), size)));
+    }
+    final Single<JsonObject> result = Single
+        .fromCallable(() -> buildResultObject(adapterRequest, adapterResponse));
+    return size > configuration.getResponseOffloadSize()
+        ? result.subscribeOn(parsingScheduler).observeOn(scheduler)
+        : result;
   }
 
   public ServiceEntry mergeWithConfiguration(final ServiceEntry serviceEntry) {
-    Optional<ServiceKnotConfiguration.ServiceMetadata> serviceMetadata = configuration.getServices()
-        .stream()
-        .filter(service -> serviceEntry.getName().matches(service.getName()))
-        .findFirst();
+    Optional<ServiceKnotConfiguration.ServiceMetadata> serviceMetadata = services
+        .find(serviceEntry.getName());
 
     return serviceMetadata.map(
         metadata ->
             new ServiceEntry(serviceEntry)
                 .setAddress(metadata.getAddress())
                 .mergeParams(metadata.getParams())
-                .setCacheKey(metadata.getCacheKey()))
+                .setCacheKey(metadata.getCacheKey())
+                .setCache(metadata.getCache())
+                .setCoalesce(metadata.isCoalesce())
+                .setTimeout(metadata.getTimeout()))
         .orElseThrow(() -> {
           LOGGER.error("Missing service configuration for: {}", serviceEntry.getName());
           return new IllegalStateException("Missing service configuration");
         });
   }
 
+  private static boolean isSuccess(JsonObject result) {
+    return statusCode(result) / 100 == 2;
+  }
+
+  private static boolean isServerError(JsonObject result) {
+    return statusCode(result) >= 500;
+  }
+
+  private static int statusCode(JsonObject result) {
+    return NumberUtils.toInt(
+        result.getJsonObject(RESPONSE_NAMESPACE_KEY, new JsonObject()).getString("statusCode"));
+  }
+
   private JsonObject buildResultObject(AdapterRequest adapterRequest,
       AdapterResponse adapterResponse) {
     JsonObject object = new JsonObject();
 
-    String rawData = adapterResponse.getResponse().getBody().toString().trim();
+    Buffer body = adapterResponse.getResponse().getBody();
+    Object result = ResponseBody.parse(body);
 
-    if (rawData.charAt(0) == '[') {
-      object.put(RESULT_NAMESPACE_KEY, new JsonArray(rawData));
-    } else if (rawData.charAt(0) == '{') {
-      object.put(RESULT_NAMESPACE_KEY, new JsonObject(rawData));
+    if (result != null) {
+      object.put(RESULT_NAMESPACE_KEY, result);
     } else {
       LOGGER.error("Result of [{} {}] neither Json Array nor Json Object: [{}]",
           adapterRequest.getRequest().getMethod(), adapterRequest.getRequest().getPath(),
-          StringUtils.abbreviate(rawData, 15));
+          StringUtils.abbreviate(body.getString(0, Math.min(body.length(), 64)).trim(), 15));
     }
     object.put(RESPONSE_NAMESPACE_KEY, new JsonObject()
         .put("statusCode", Integer.toString(adapterResponse.getResponse().getStatusCode())));
@@ -16,6 +16,8 @@
 package io.knotx.knot.service.service;
 
 
+import io.knotx.knot.service.ServiceKnotConfiguration.CacheMetadata;
+import io.knotx.util.Fingerprint;
 import io.vertx.core.json.JsonObject;
 import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +31,9 @@ public class ServiceEntry {
   private String address;
   private String cacheKey;
   private JsonObject params;
+  private CacheMetadata cache;
+  private boolean coalesce;
+  private long timeout;
 
   public ServiceEntry(ServiceEntry serviceEntry) {
     this.namespace = serviceEntry.namespace;
@@ -36,13 +41,16 @@ public class ServiceEntry {
     this.address = serviceEntry.address;
     this.cacheKey = serviceEntry.cacheKey;
     this.params = serviceEntry.params.copy();
+    this.cache = serviceEntry.cache;
+    this.coalesce = serviceEntry.coalesce;
+    this.timeout = serviceEntry.timeout;
   }
 
   public ServiceEntry(Attribute serviceAttribute, Attribute paramsAttribute) {
     this.namespace = ServiceAttributeUtil.extractNamespace(serviceAttribute.getKey());
     this.name = serviceAttribute.getValue();
     this.params = getParams(paramsAttribute);
-    this.cacheKey = String.format("%s|%s", getName(), getParams());
+    this.cacheKey = name + '|' + Fingerprint.of(params.encode());
   }
 
   public ServiceEntry mergeParams(JsonObject defaultParams) {
@@ -84,6 +92,42 @@ public class ServiceEntry {
     return params;
   }
 
+  /**
+   * @return shared cache settings of the service, <tt>null</tt> when they are not configured
+   */
+  public CacheMetadata getCache() {
+    return cache;
+  }
+
+  ServiceEntry setCache(CacheMetadata cache) {
+    this.cache = cache;
+    return this;
+  }
+
+  /**
+   * @return <tt>true</tt> if concurrent identical calls of this service share a single call
+   */
+  public boolean isCoalesce() {
+    return coalesce;
+  }
+
+  ServiceEntry setCoalesce(boolean coalesce) {
+    this.coalesce = coalesce;
+    return this;
+  }
+
+  /**
+   * @return time in ms the service call may take, <tt>0</tt> when it is not limited
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  ServiceEntry setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
   public JsonObject getResultWithNamespaceAsKey(JsonObject result) {
     if (StringUtils.isNotEmpty(namespace)) {
       return new JsonObject().put(namespace, result);
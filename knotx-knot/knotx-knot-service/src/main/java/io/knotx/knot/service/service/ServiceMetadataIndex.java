@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.knotx.exceptions.ConfigurationException;
+import io.knotx.knot.service.ServiceKnotConfiguration.ServiceMetadata;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Finds the configuration of a service by its name. Configured names are regular expressions
+ * matched in the declaration order and compiled once. Names without any regex construct can match
+ * only themselves, so they are looked up by hash and only the expressions declared before them are
+ * evaluated. Resolved names are memoized.
+ */
+class ServiceMetadataIndex {
+
+  private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+  private static final int MAX_RESOLVED_NAMES = 1000;
+
+  private final List<ServiceMetadata> services;
+
+  private final List<Pattern> patterns;
+
+  private final Map<String, Integer> literals;
+
+  private final Cache<String, ServiceMetadata> resolved = CacheBuilder.newBuilder()
+      .maximumSize(MAX_RESOLVED_NAMES)
+      .build();
+
+  ServiceMetadataIndex(List<ServiceMetadata> services) {
+    this.services = new ArrayList<>(services);
+    this.patterns = new ArrayList<>(services.size());
+    this.literals = new HashMap<>();
+    for (int index = 0; index < services.size(); index++) {
+      String name = services.get(index).getName();
+      if (name != null && isLiteral(name)) {
+        literals.putIfAbsent(name, index);
+        patterns.add(null);
+      } else {
+        patterns.add(compile(name));
+      }
+    }
+  }
+
+  Optional<ServiceMetadata> find(String name) {
+    ServiceMetadata metadata = resolved.getIfPresent(name);
+    if (metadata == null) {
+      metadata = lookup(name);
+      if (metadata != null) {
+        resolved.put(name, metadata);
+      }
+    }
+    return Optional.ofNullable(metadata);
+  }
+
+  private ServiceMetadata lookup(String name) {
+    int literalIndex = literals.getOrDefault(name, services.size());
+    for (int index = 0; index < literalIndex; index++) {
+      Pattern pattern = patterns.get(index);
+      if (pattern != null && pattern.matcher(name).matches()) {
+        return services.get(index);
+      }
+    }
+    return literalIndex < services.size() ? services.get(literalIndex) : null;
+  }
+
+  private static boolean isLiteral(String name) {
+    return name.chars().noneMatch(character -> META_CHARACTERS.indexOf(character) >= 0);
+  }
+
+  private static Pattern compile(String name) {
+    if (name == null) {
+      return null;
+    }
+    try {
+      return Pattern.compile(name);
+    } catch (PatternSyntaxException e) {
+      throw new ConfigurationException("Invalid service name pattern: " + name);
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.knot.service.ServiceKnotConfiguration.CacheMetadata;
+import io.knotx.metrics.KnotxMetrics;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.reactivex.core.Vertx;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Service results shared by all Service Knot instances deployed in the Vert.x instance. Only
+ * services with {@link CacheMetadata} configured are cached. The cache is bounded by the size of
+ * the results.
+ */
+class ServiceResultCache implements Shareable {
+
+  private static final String MAP_NAME = "knotx.knot.service.results";
+
+  private static final String CACHE_KEY = "results";
+
+  private static final String METRICS_PREFIX = "knotx.knot.service.cache";
+
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^{}\"]+)}");
+
+  private final Cache<ServiceCallKey, CachedResult> results;
+
+  private final AtomicLong weight = new AtomicLong();
+
+  private ServiceResultCache(long maxSize) {
+    results = CacheBuilder.newBuilder()
+        .maximumWeight(maxSize)
+        .weigher((ServiceCallKey key, CachedResult result) -> result.weight)
+        .removalListener(this::onRemoval)
+        .recordStats()
+        .build();
+    KnotxMetrics.cacheGauges(METRICS_PREFIX, results, weight::get);
+  }
+
+  static ServiceResultCache get(Vertx vertx, long maxSize) {
+    LocalMap<String, ServiceResultCache> map = vertx.getDelegate().sharedData()
+        .getLocalMap(MAP_NAME);
+    ServiceResultCache cache = map.get(CACHE_KEY);
+    if (cache == null) {
+      ServiceResultCache created = new ServiceResultCache(maxSize);
+      cache = map.putIfAbsent(CACHE_KEY, created);
+      if (cache == null) {
+        cache = created;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Creates the key of the service call. Besides the adapter address and the service cache key it
+   * contains values of all request attributes referenced by placeholders in the service params or
+   * listed in {@link CacheMetadata#getVary()}.
+   */
+  static ServiceCallKey key(ServiceEntry serviceEntry, ClientRequest request) {
+    Set<String> attributes = new TreeSet<>();
+    if (serviceEntry.getCache() != null) {
+      attributes.addAll(serviceEntry.getCache().getVary());
+    }
+    collectPlaceholders(serviceEntry.getParams(), attributes);
+    Map<String, String> values = new TreeMap<>();
+    attributes.forEach(attribute -> {
+      String value = attributeValue(request, attribute);
+      if (value != null) {
+        values.put(attribute, value);
+      }
+    });
+    return new ServiceCallKey(serviceEntry.getAddress(), serviceEntry.getCacheKey(), values);
+  }
+
+  /**
+   * @return cached result that may be returned (fresh, in the stale-while-revalidate or
+   * stale-if-error period), <tt>null</tt> otherwise
+   */
+  CachedResult get(ServiceCallKey key) {
+    CachedResult result = results.getIfPresent(key);
+    if (result != null && result.isExpired()) {
+      results.invalidate(key);
+      result = null;
+    }
+    return result;
+  }
+
+  void put(ServiceCallKey key, JsonObject result, CacheMetadata cache) {
+    results.put(key, new CachedResult(result, cache));
+  }
+
+  private static void collectPlaceholders(Object value, Set<String> attributes) {
+    if (value instanceof JsonObject) {
+      ((JsonObject) value).forEach(entry -> collectPlaceholders(entry.getValue(), attributes));
+    } else if (value instanceof JsonArray) {
+      ((JsonArray) value).forEach(item -> collectPlaceholders(item, attributes));
+    } else if (value instanceof String && ((String) value).indexOf('{') >= 0) {
+      Matcher placeholders = PLACEHOLDER.matcher((String) value);
+      while (placeholders.find()) {
+        attributes.add(placeholders.group(1));
+      }
+    }
+  }
+
+  private static String attributeValue(ClientRequest request, String attribute) {
+    if (attribute.startsWith("header.")) {
+      return request.getHeaders().get(StringUtils.substringAfter(attribute, "."));
+    } else if (attribute.startsWith("param.")) {
+      return request.getParams().get(StringUtils.substringAfter(attribute, "."));
+    } else if (attribute.startsWith("uri.") || attribute.startsWith("slingUri.")) {
+      return request.getPath();
+    }
+    return null;
+  }
+
+  private void onRemoval(RemovalNotification<ServiceCallKey, CachedResult> notification) {
+    weight.addAndGet(-notification.getValue().weight);
+  }
+
+  class CachedResult {
+
+    private final JsonObject value;
+
+    private final int weight;
+
+    private final long freshUntil;
+
+    private final long staleWhileRevalidateUntil;
+
+    private final long staleIfErrorUntil;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private CachedResult(JsonObject value, CacheMetadata cache) {
+      long now = System.currentTimeMillis();
+      this.value = value.copy();
+      this.weight = value.encode().length() + ENTRY_OVERHEAD;
+      this.freshUntil = now + cache.getTtl();
+      this.staleWhileRevalidateUntil = freshUntil + cache.getStaleWhileRevalidate();
+      this.staleIfErrorUntil = freshUntil + cache.getStaleIfError();
+      ServiceResultCache.this.weight.addAndGet(weight);
+    }
+
+    /**
+     * @return a copy of the cached result, the caller may modify it
+     */
+    JsonObject value() {
+      return value.copy();
+    }
+
+    boolean isFresh() {
+      return System.currentTimeMillis() < freshUntil;
+    }
+
+    boolean isStaleWhileRevalidate() {
+      return System.currentTimeMillis() < staleWhileRevalidateUntil;
+    }
+
+    boolean isStaleIfError() {
+      return System.currentTimeMillis() < staleIfErrorUntil;
+    }
+
+    /**
+     * @return <tt>true</tt> if the caller is the only one that should refresh the stale result
+     */
+    boolean startRefresh() {
+      return refreshing.compareAndSet(false, true);
+    }
+
+    void endRefresh() {
+      refreshing.set(false);
+    }
+
+    private boolean isExpired() {
+      return !isStaleWhileRevalidate() && !isStaleIfError() && !isFresh();
+    }
+  }
+}
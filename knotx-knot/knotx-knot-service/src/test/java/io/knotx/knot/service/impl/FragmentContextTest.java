@@ -16,6 +16,7 @@
 package io.knotx.knot.service.impl;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static uk.co.datumedge.hamcrest.json.SameJSONAs.sameJSONAs;
 
@@ -23,9 +24,12 @@ import com.googlecode.zohhak.api.Configure;
 import com.googlecode.zohhak.api.TestWith;
 import com.googlecode.zohhak.api.runners.ZohhakRunner;
 import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.FragmentContentExtractor;
 import io.knotx.junit.coercers.KnotxCoercers;
 import io.knotx.knot.service.service.ServiceEntry;
 import io.vertx.core.json.JsonObject;
+import java.util.Collections;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.runner.RunWith;
 
 @RunWith(ZohhakRunner.class)
@@ -75,4 +79,50 @@ public class FragmentContextTest {
     );
   }
 
+  @TestWith({
+      "snippet_two_services.txt",
+      "snippet_five_services.txt"
+  })
+  public void from_whenSameSnippetProcessedTwice_expectServicesParsedOnce(Fragment fragment)
+      throws Exception {
+    final ServiceDeclarations declarations = new ServiceDeclarations();
+
+    final FragmentContext first = FragmentContext.from(fragment, declarations);
+    final FragmentContext second = FragmentContext.from(fragment, declarations);
+    assertThat(second.services, sameInstance(first.services));
+    assertThat(second.services, is(FragmentContext.from(fragment).services));
+  }
+
+  @TestWith({
+      "snippet_one_service_with_fallback.txt;<p>Temporarily unavailable</p>",
+      "snippet_one_service_with_unescaped_fallback.txt;<p class=\"offers\">Offers > temporarily unavailable</p>"
+  })
+  public void fallback_whenSnippetDeclaresFallback_expectUnescapedMarkup(Fragment fragment,
+      String expectedFallback) throws Exception {
+    assertThat(FragmentContext.from(fragment).fallback().get(), is(expectedFallback));
+  }
+
+  @TestWith({
+      "snippet_one_service_one_param.txt"
+  })
+  public void fallback_whenSnippetWithoutFallback_expectEmpty(Fragment fragment) throws Exception {
+    assertThat(FragmentContext.from(fragment).fallback().isPresent(), is(false));
+  }
+
+  @TestWith({
+      "snippet_one_service_with_fallback.txt",
+      "snippet_one_service_with_unescaped_fallback.txt"
+  })
+  public void fallbackTo_expectSnippetBodyReplaced(Fragment fragmentMock) throws Exception {
+    final Fragment fragment = Fragment
+        .snippet(Collections.singletonList("services"), fragmentMock.content().trim());
+    final String openingTag = StringUtils.substringBefore(fragment.content(), "\n  <h2>");
+    final FragmentContext fragmentContext = FragmentContext.from(fragment)
+        .fallbackTo("<p>fallback</p>");
+
+    assertThat(FragmentContentExtractor.unwrapContent(fragmentContext.fragment()),
+        is("<p>fallback</p>"));
+    assertThat(fragmentContext.fragment().content(), is(openingTag + "<p>fallback</p></script>"));
+  }
+
 }
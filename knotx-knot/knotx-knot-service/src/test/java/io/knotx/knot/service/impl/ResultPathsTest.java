@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.impl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+public class ResultPathsTest {
+
+  private static final JsonObject RESULTS = new JsonObject()
+      .put("_result", new JsonObject()
+          .put("message", "Hello")
+          .put("unused", "Lorem ipsum"))
+      .put("_response", new JsonObject().put("statusCode", "200"))
+      .put("second", new JsonObject()
+          .put("_result", new JsonObject()
+              .put("items", new JsonArray().add(new JsonObject().put("name", "first")))
+              .put("total", 1)));
+
+  @Test
+  public void prune_expectOnlyReferencedPathsWithSubtrees() {
+    ResultPaths paths = ResultPaths.of(snippet(
+        "<h2>{{_result.message}}</h2>{{#each second._result.items}}<p>{{name}}</p>{{/each}}"));
+
+    assertThat(paths.prune(RESULTS), is(new JsonObject()
+        .put("_result", new JsonObject().put("message", "Hello"))
+        .put("second", new JsonObject()
+            .put("_result", new JsonObject()
+                .put("items", new JsonArray().add(new JsonObject().put("name", "first")))))));
+  }
+
+  @Test
+  public void prune_whenHelpersAndRootReferences_expectArgumentsKept() {
+    ResultPaths paths = ResultPaths.of(snippet(
+        "{{#if (eq _response.statusCode \"200\") }}{{{@root.second._result.total}}}{{/if}}"
+            + "{{!-- _result.unused --}}"));
+
+    assertThat(paths.prune(RESULTS), is(new JsonObject()
+        .put("_response", new JsonObject().put("statusCode", "200"))
+        .put("second", new JsonObject()
+            .put("_result", new JsonObject().put("total", 1)))));
+  }
+
+  @Test
+  public void of_whenDynamicReferences_expectAllPaths() {
+    assertThat(ResultPaths.of(snippet("{{> partial}}")).isAll(), is(true));
+    assertThat(ResultPaths.of(snippet("{{lookup _result key}}")).isAll(), is(true));
+    assertThat(ResultPaths.of(snippet("{{#each this}}{{@key}}{{/each}}")).isAll(), is(true));
+    assertThat(ResultPaths.of(snippet("{{_result.[first item]}}")).isAll(), is(true));
+    assertThat(ResultPaths.ALL.prune(RESULTS), is(RESULTS));
+  }
+
+  @Test
+  public void prune_whenFallbackMarkupInAttributes_expectPathsOfTemplateOnly() {
+    ResultPaths paths = ResultPaths.of("<script data-knotx-knots=\"services,handlebars\""
+        + " data-knotx-service=\"first-service\""
+        + " data-knotx-fallback=\"<p>{{_result.unused}}</p>\" type=\"text/knotx-snippet\">"
+        + "<h2>{{_result.message}}</h2></script>");
+
+    assertThat(paths.prune(RESULTS), is(new JsonObject()
+        .put("_result", new JsonObject().put("message", "Hello"))));
+  }
+
+  private String snippet(String template) {
+    return "<script data-knotx-knots=\"services,handlebars\" data-knotx-service=\"first-service\""
+        + " type=\"text/knotx-snippet\">" + template + "</script>";
+  }
+}
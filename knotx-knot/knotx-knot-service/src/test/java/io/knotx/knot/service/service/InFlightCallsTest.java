@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.SingleSubject;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.Vertx;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InFlightCallsTest {
+
+  private static final ServiceCallKey KEY = new ServiceCallKey("knotx.core-adapter", "first",
+      Collections.emptyMap());
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void call_whenConcurrentCallsWithSameKey_expectSingleCallAndSeparateResults() {
+    InFlightCalls inFlightCalls = new InFlightCalls(vertx, 10000);
+    AtomicInteger calls = new AtomicInteger();
+    SingleSubject<JsonObject> adapter = SingleSubject.create();
+
+    TestObserver<JsonObject> leader = inFlightCalls.call(KEY, () -> {
+      calls.incrementAndGet();
+      return adapter;
+    }).test();
+    TestObserver<JsonObject> follower = inFlightCalls.call(KEY, () -> {
+      calls.incrementAndGet();
+      return SingleSubject.create();
+    }).test();
+    adapter.onSuccess(new JsonObject().put("_result", new JsonObject().put("a", 1)));
+
+    Assert.assertEquals(1, calls.get());
+    leader.assertValueCount(1);
+    follower.assertValueCount(1);
+    Assert.assertEquals(leader.values().get(0), follower.values().get(0));
+    Assert.assertNotSame(leader.values().get(0), follower.values().get(0));
+  }
+
+  @Test
+  public void call_whenPreviousCallCompleted_expectNewCall() {
+    InFlightCalls inFlightCalls = new InFlightCalls(vertx, 10000);
+    AtomicInteger calls = new AtomicInteger();
+
+    inFlightCalls.call(KEY, () -> {
+      calls.incrementAndGet();
+      return Single.just(new JsonObject());
+    }).test().assertValueCount(1);
+    inFlightCalls.call(KEY, () -> {
+      calls.incrementAndGet();
+      return Single.just(new JsonObject());
+    }).test().assertValueCount(1);
+
+    Assert.assertEquals(2, calls.get());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResponseBodyTest {
+
+  @Test
+  public void parse_whenJsonObject_expectJsonObject() {
+    Object result = ResponseBody
+        .parse(Buffer.buffer("  {\"message\": \"hello\", \"items\": [{\"id\": 1}]}\n"));
+
+    Assert.assertEquals(new JsonObject().put("message", "hello")
+        .put("items", new JsonArray().add(new JsonObject().put("id", 1))), result);
+  }
+
+  @Test
+  public void parse_whenJsonArray_expectJsonArray() {
+    Object result = ResponseBody.parse(Buffer.buffer("[1, \"two\", {\"three\": 3}]"));
+
+    Assert.assertEquals(new JsonArray().add(1).add("two").add(new JsonObject().put("three", 3)),
+        result);
+  }
+
+  @Test
+  public void parse_whenNeitherObjectNorArray_expectNull() {
+    Assert.assertNull(ResponseBody.parse(Buffer.buffer("\"text\"")));
+    Assert.assertNull(ResponseBody.parse(Buffer.buffer("")));
+  }
+
+  @Test
+  public void parse_whenPlainText_expectNull() {
+    Assert.assertNull(ResponseBody.parse(Buffer.buffer("Not Found")));
+    Assert.assertNull(ResponseBody.parse(Buffer.buffer("<html><body>Not Found</body></html>")));
+  }
+
+  @Test(expected = DecodeException.class)
+  public void parse_whenInvalidJson_expectDecodeException() {
+    ResponseBody.parse(Buffer.buffer("{\"message\": "));
+  }
+}
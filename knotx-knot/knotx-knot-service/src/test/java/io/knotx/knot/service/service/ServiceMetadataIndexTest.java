@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceMetadataIndexTest {
+
+  @Test
+  public void find_whenNameConfiguredLiterally_expectServiceFound() {
+    ServiceMetadataIndex tested = index("first-service", "second-service");
+
+    Assert.assertEquals("address-second-service",
+        tested.find("second-service").get().getAddress());
+  }
+
+  @Test
+  public void find_whenNameMatchedByPattern_expectServiceFound() {
+    ServiceMetadataIndex tested = index("first-service", "labels.*");
+
+    Assert.assertEquals("address-labels.*", tested.find("labelsRepository").get().getAddress());
+  }
+
+  @Test
+  public void find_whenPatternDeclaredBeforeLiteral_expectPatternWins() {
+    ServiceMetadataIndex tested = index("first.*", "first-service");
+
+    Assert.assertEquals("address-first.*", tested.find("first-service").get().getAddress());
+  }
+
+  @Test
+  public void find_whenLiteralDeclaredBeforePattern_expectLiteralWins() {
+    ServiceMetadataIndex tested = index("first-service", "first.*");
+
+    Assert.assertEquals("address-first-service", tested.find("first-service").get().getAddress());
+    Assert.assertEquals("address-first.*", tested.find("first-other").get().getAddress());
+  }
+
+  @Test
+  public void find_whenNameNotConfigured_expectEmpty() {
+    ServiceMetadataIndex tested = index("first-service", "labels.*");
+
+    Assert.assertFalse(tested.find("first").isPresent());
+    Assert.assertFalse(tested.find("first").isPresent());
+  }
+
+  private ServiceMetadataIndex index(String... names) {
+    JsonArray services = new JsonArray();
+    for (String name : names) {
+      services.add(new JsonObject().put("name", name).put("address", "address-" + name));
+    }
+    return new ServiceMetadataIndex(new ServiceKnotConfiguration(
+        new JsonObject().put("address", "knotx.knot.service").put("services", services))
+        .getServices());
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.knot.service.ServiceKnotConfiguration.CacheMetadata;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import org.jsoup.nodes.Attribute;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceResultCacheTest {
+
+  @Test
+  public void key_whenPlaceholderInParams_expectRequestParamInKey() {
+    ServiceEntry serviceEntry = serviceEntry("{\"path\":\"/product/{param.id}.json\"}",
+        new JsonObject().put("ttl", 1000));
+
+    ServiceCallKey first = ServiceResultCache.key(serviceEntry, request("1", "en"));
+    ServiceCallKey second = ServiceResultCache.key(serviceEntry, request("2", "en"));
+
+    Assert.assertNotEquals(first, second);
+    Assert.assertEquals(first, ServiceResultCache.key(serviceEntry, request("1", "de")));
+  }
+
+  @Test
+  public void key_whenVaryHeader_expectHeaderInKey() {
+    ServiceEntry serviceEntry = serviceEntry("{\"path\":\"/labels.json\"}",
+        new JsonObject().put("ttl", 1000)
+            .put("vary", new JsonArray().add("header.Accept-Language")));
+
+    Assert.assertNotEquals(ServiceResultCache.key(serviceEntry, request("1", "en")),
+        ServiceResultCache.key(serviceEntry, request("1", "de")));
+    Assert.assertEquals(ServiceResultCache.key(serviceEntry, request("1", "en")),
+        ServiceResultCache.key(serviceEntry, request("2", "en")));
+  }
+
+  @Test
+  public void key_whenSameServiceInAnotherSnippet_expectEqualKeys() {
+    JsonObject cache = new JsonObject().put("ttl", 1000);
+    ServiceCallKey first = ServiceResultCache
+        .key(serviceEntry("{\"path\":\"/labels.json\"}", cache), request("1", "en"));
+    ServiceCallKey second = ServiceResultCache
+        .key(serviceEntry("{ \"path\": \"/labels.json\" }", cache), request("1", "en"));
+
+    Assert.assertEquals(first, second);
+    Assert.assertEquals(first.hashCode(), second.hashCode());
+  }
+
+  private ServiceEntry serviceEntry(String params, JsonObject cache) {
+    return new ServiceEntry(
+        new Attribute("data-knotx-service-first", "first-service"),
+        new Attribute("data-knotx-params-first", params))
+        .setAddress("knotx.core-adapter")
+        .setCache(new CacheMetadata(cache));
+  }
+
+  private ClientRequest request(String id, String language) {
+    return new ClientRequest()
+        .setPath("/content/product.html")
+        .setParams(MultiMap.caseInsensitiveMultiMap().add("id", id))
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Accept-Language", language));
+  }
+}
@@ -15,6 +15,7 @@
  */
 package io.knotx.repository;
 
+import io.knotx.proxy.KnotxServiceBinder;
 import io.knotx.proxy.RepositoryConnectorProxy;
 import io.knotx.repository.impl.FilesystemRepositoryConnectorProxyImpl;
 import io.vertx.core.AbstractVerticle;
@@ -24,7 +25,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ServiceBinder;
 
 public class FilesystemRepositoryConnectorVerticle extends AbstractVerticle {
 
@@ -35,7 +35,7 @@ public class FilesystemRepositoryConnectorVerticle extends AbstractVerticle {
 
   private MessageConsumer<JsonObject> consumer;
 
-  private ServiceBinder serviceBinder;
+  private KnotxServiceBinder serviceBinder;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -48,7 +48,7 @@ public class FilesystemRepositoryConnectorVerticle extends AbstractVerticle {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
     //register the service proxy on event bus
-    serviceBinder = new ServiceBinder(getVertx());
+    serviceBinder = new KnotxServiceBinder(getVertx());
     consumer = serviceBinder
         .setAddress(address)
         .register(RepositoryConnectorProxy.class,
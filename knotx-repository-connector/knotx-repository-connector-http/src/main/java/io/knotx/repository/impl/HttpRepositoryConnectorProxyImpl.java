@@ -21,10 +21,14 @@ import io.knotx.http.AllowedHeadersFilter;
 import io.knotx.http.MultiMapCollector;
 import io.knotx.http.StringToPatternFunction;
 import io.knotx.proxy.RepositoryConnectorProxy;
+import io.knotx.repository.impl.TemplateCache.CachedTemplate;
 import io.knotx.util.DataObjectsUtil;
+import io.knotx.util.Deadlines;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -36,6 +40,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.buffer.Buffer;
 import io.vertx.reactivex.core.http.HttpClient;
 import io.vertx.reactivex.core.http.HttpClientRequest;
@@ -44,6 +49,8 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
@@ -60,7 +67,9 @@ public class HttpRepositoryConnectorProxyImpl implements RepositoryConnectorProx
   private final List<Pattern> allowedRequestHeaders;
   private final HttpClient httpClient;
   private final JsonObject customRequestHeader;
-
+  private final TemplateCache templateCache;
+  private final Map<String, Single<ClientResponse>> pendingFetches = new ConcurrentHashMap<>();
+  private final Scheduler scheduler;
 
   public HttpRepositoryConnectorProxyImpl(Vertx vertx, JsonObject configuration) {
     clientOptions = configuration.getJsonObject("clientOptions", new JsonObject());
@@ -71,7 +80,9 @@ public class HttpRepositoryConnectorProxyImpl implements RepositoryConnectorProx
         .map(object -> (String) object)
         .map(StringToPatternFunction.getInstance())
         .collect(Collectors.toList());
+    templateCache = new TemplateCache(configuration.getJsonObject("cache", new JsonObject()));
     httpClient = createHttpClient(vertx);
+    scheduler = RxHelper.scheduler(io.vertx.reactivex.core.Vertx.newInstance(vertx));
   }
 
   @Override
@@ -91,16 +102,44 @@ public class HttpRepositoryConnectorProxyImpl implements RepositoryConnectorProx
       );
     }
 
-    get(httpClient, httpRequestData, requestHeaders)
+    // shared fetches of cached templates are limited by the cache fetch timeout, not by the
+    // deadline of a single request
+    Single<ClientResponse> response = templateCache.isEnabled()
+        ? fetchCached(httpRequestData, requestHeaders)
+        : fetch(httpRequestData, requestHeaders, Deadlines.timeLeft(request, Deadlines.NONE));
+
+    Deadlines.limit(response, request, scheduler).subscribe(
+        clientResponse -> result.handle(Future.succeededFuture(clientResponse)),
+        error -> {
+          LOGGER.error(ERROR_MESSAGE, error);
+          result.handle(Future.succeededFuture(toInternalError()));
+        }
+    );
+  }
+
+  private Single<ClientResponse> fetch(RequestOptions httpRequestData, MultiMap requestHeaders,
+      long timeout) {
+    return get(httpClient, httpRequestData, requestHeaders, timeout)
         .doOnNext(this::traceHttpResponse)
         .flatMap(this::processResponse)
-        .subscribe(
-            response -> result.handle(Future.succeededFuture(response)),
-            error -> {
-              LOGGER.error(ERROR_MESSAGE, error);
-              result.handle(Future.succeededFuture(toInternalError()));
-            }
-        );
+        .singleOrError();
+  }
+
+  private Single<ClientResponse> fetchCached(RequestOptions httpRequestData,
+      MultiMap requestHeaders) {
+    String key = templateCache.key(httpRequestData.getURI(), requestHeaders);
+    CachedTemplate cached = templateCache.get(key);
+    if (cached != null && cached.isFresh()) {
+      return Single.just(cached.toResponse());
+    }
+    // concurrent requests for the same template share a single repository call
+    return pendingFetches.computeIfAbsent(key, k ->
+        fetch(httpRequestData, templateCache.repositoryHeaders(requestHeaders, cached),
+            templateCache.getFetchTimeout())
+            .map(response -> templateCache.update(k, cached, response))
+            .doOnEvent((response, error) -> pendingFetches.remove(k))
+            .cache())
+        .map(ClientResponse::new);
   }
 
   private RequestOptions buildRequestData(ClientRequest request) {
@@ -112,10 +151,13 @@ public class HttpRepositoryConnectorProxyImpl implements RepositoryConnectorProx
   }
 
   private Observable<HttpClientResponse> get(HttpClient client, RequestOptions requestOptions,
-      MultiMap headers) {
+      MultiMap headers, long timeout) {
     return Observable.unsafeCreate(subscriber -> {
       HttpClientRequest req = client.get(requestOptions);
       req.headers().addAll(headers);
+      if (timeout > 0) {
+        req.setTimeout(timeout);
+      }
       if (headers.get(HttpHeaderNames.HOST.toString()) != null) {
         req.setHost(headers.get(HttpHeaderNames.HOST.toString()));
       }
@@ -165,7 +207,11 @@ public class HttpRepositoryConnectorProxyImpl implements RepositoryConnectorProx
   }
 
   private ClientResponse toResponse(Buffer buffer, final HttpClientResponse httpResponse) {
-    if (httpResponse.statusCode() >= 300 && httpResponse.statusCode() < 400) { //redirect responses
+    if (httpResponse.statusCode() == HttpResponseStatus.NOT_MODIFIED.code()) {
+      LOGGER.trace("Repository 304 response, Headers[{}]",
+          DataObjectsUtil.toString(httpResponse.headers()));
+    } else if (httpResponse.statusCode() >= 300
+        && httpResponse.statusCode() < 400) { //redirect responses
       LOGGER.info("Repository 3xx response: {}, Headers[{}]", httpResponse.statusCode(),
           DataObjectsUtil.toString(httpResponse.headers()));
     } else if (httpResponse.statusCode() != 200) {
@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.knotx.dataobjects.ClientResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Bounded cache of templates downloaded from the HTTP repository. Freshness is driven by the
+ * <tt>Cache-Control</tt> header of the repository response. Stale templates having an
+ * <tt>ETag</tt> or <tt>Last-Modified</tt> validator are revalidated with a conditional request.
+ */
+class TemplateCache {
+
+  private static final long DEFAULT_MAX_SIZE = 16 * 1024 * 1024; // 16 MB
+
+  private static final int ENTRY_OVERHEAD = 256;
+
+  private static final long DEFAULT_FETCH_TIMEOUT = 10000;
+
+  private final boolean enabled;
+
+  private final long defaultTtl;
+
+  private final long fetchTimeout;
+
+  private final List<String> keyHeaders;
+
+  private final Cache<String, CachedTemplate> templates;
+
+  TemplateCache(JsonObject config) {
+    enabled = config.getBoolean("enabled", false);
+    defaultTtl = config.getLong("defaultTtl", 0L);
+    fetchTimeout = config.getLong("fetchTimeout", DEFAULT_FETCH_TIMEOUT);
+    keyHeaders = config.getJsonArray("headers", new JsonArray()).stream()
+        .map(String.class::cast)
+        .sorted()
+        .collect(Collectors.toList());
+    templates = CacheBuilder.newBuilder()
+        .maximumWeight(config.getLong("maxSize", DEFAULT_MAX_SIZE))
+        .weigher(TemplateCache::weight)
+        .build();
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return timeout (in ms) of the repository call shared by concurrent requests
+   */
+  long getFetchTimeout() {
+    return fetchTimeout;
+  }
+
+  String key(String uri, MultiMap requestHeaders) {
+    StringBuilder key = new StringBuilder(uri);
+    keyHeaders.forEach(name -> key.append('\u0000').append(name).append('=')
+        .append(StringUtils.join(requestHeaders.getAll(name), ',')));
+    return key.toString();
+  }
+
+  CachedTemplate get(String key) {
+    return templates.getIfPresent(key);
+  }
+
+  /**
+   * Stores (or refreshes) the cached template with the repository response.
+   *
+   * @param key cache key
+   * @param cached template that was revalidated, <tt>null</tt> if it was a plain request
+   * @param response repository response
+   * @return response that should be returned to the caller
+   */
+  ClientResponse update(String key, CachedTemplate cached, ClientResponse response) {
+    if (cached != null && response.getStatusCode() == HttpResponseStatus.NOT_MODIFIED.code()) {
+      CachedTemplate revalidated = cached.revalidate(response.getHeaders(), defaultTtl);
+      templates.put(key, revalidated);
+      return revalidated.toResponse();
+    }
+    if (response.getStatusCode() == HttpResponseStatus.OK.code()) {
+      CachedTemplate template = CachedTemplate.of(response, defaultTtl);
+      if (template != null) {
+        templates.put(key, template);
+      } else {
+        templates.invalidate(key);
+      }
+    }
+    return response;
+  }
+
+  /**
+   * Prepares headers of the repository request. Conditional headers of the client request are
+   * dropped, since a response shared between clients must carry the template body. When a stale
+   * template is revalidated, its <tt>ETag</tt> and <tt>Last-Modified</tt> are sent as
+   * <tt>If-None-Match</tt> and <tt>If-Modified-Since</tt>.
+   */
+  MultiMap repositoryHeaders(MultiMap requestHeaders, CachedTemplate cached) {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    requestHeaders.names().stream()
+        .filter(name -> !HttpHeaderNames.IF_NONE_MATCH.contentEqualsIgnoreCase(name))
+        .filter(name -> !HttpHeaderNames.IF_MODIFIED_SINCE.contentEqualsIgnoreCase(name))
+        .forEach(name -> requestHeaders.getAll(name).forEach(value -> headers.add(name, value)));
+    if (cached != null) {
+      MultiMap cachedHeaders = cached.response.getHeaders();
+      String etag = cachedHeaders.get(HttpHeaderNames.ETAG.toString());
+      String lastModified = cachedHeaders.get(HttpHeaderNames.LAST_MODIFIED.toString());
+      if (etag != null) {
+        headers.set(HttpHeaderNames.IF_NONE_MATCH.toString(), etag);
+      }
+      if (lastModified != null) {
+        headers.set(HttpHeaderNames.IF_MODIFIED_SINCE.toString(), lastModified);
+      }
+    }
+    return headers;
+  }
+
+  private static int weight(String key, CachedTemplate template) {
+    return key.length() * 2 + template.response.getBody().length() + ENTRY_OVERHEAD;
+  }
+
+  static class CachedTemplate {
+
+    private final ClientResponse response;
+
+    private final long expiresAt;
+
+    private CachedTemplate(ClientResponse response, long ttl) {
+      this.response = response;
+      this.expiresAt = System.currentTimeMillis() + ttl;
+    }
+
+    /**
+     * @return template entry or <tt>null</tt> if the response must not be cached
+     */
+    static CachedTemplate of(ClientResponse response, long defaultTtl) {
+      CacheControl cacheControl = CacheControl.parse(response.getHeaders());
+      if (cacheControl.noStore || response.getBody() == null) {
+        return null;
+      }
+      boolean validated = hasValidator(response.getHeaders());
+      long ttl = cacheControl.ttl(defaultTtl);
+      return ttl > 0 || validated ? new CachedTemplate(response, ttl) : null;
+    }
+
+    private CachedTemplate revalidate(MultiMap notModifiedHeaders, long defaultTtl) {
+      MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(response.getHeaders());
+      notModifiedHeaders.names().stream()
+          .filter(name -> !HttpHeaderNames.CONTENT_LENGTH.contentEqualsIgnoreCase(name))
+          .forEach(name -> {
+            headers.remove(name);
+            notModifiedHeaders.getAll(name).forEach(value -> headers.add(name, value));
+          });
+      ClientResponse revalidated = new ClientResponse(response).setHeaders(headers);
+      return new CachedTemplate(revalidated, CacheControl.parse(headers).ttl(defaultTtl));
+    }
+
+    boolean isFresh() {
+      return System.currentTimeMillis() < expiresAt;
+    }
+
+    /**
+     * @return a copy of the cached response, the caller may modify it
+     */
+    ClientResponse toResponse() {
+      return new ClientResponse(response);
+    }
+
+    private static boolean hasValidator(MultiMap headers) {
+      return headers.contains(HttpHeaderNames.ETAG.toString())
+          || headers.contains(HttpHeaderNames.LAST_MODIFIED.toString());
+    }
+  }
+
+  static class CacheControl {
+
+    private boolean noStore;
+
+    private boolean noCache;
+
+    private long maxAge = -1;
+
+    static CacheControl parse(MultiMap headers) {
+      CacheControl cacheControl = new CacheControl();
+      headers.getAll(HttpHeaderNames.CACHE_CONTROL.toString()).stream()
+          .flatMap(value -> Stream.of(value.split(",")))
+          .map(directive -> directive.trim().toLowerCase())
+          .forEach(cacheControl::apply);
+      return cacheControl;
+    }
+
+    private void apply(String directive) {
+      if ("no-store".equals(directive) || "private".equals(directive)) {
+        noStore = true;
+      } else if ("no-cache".equals(directive)) {
+        noCache = true;
+      } else if (directive.startsWith("s-maxage=")) {
+        maxAge = seconds(StringUtils.substringAfter(directive, "="));
+      } else if (directive.startsWith("max-age=") && maxAge < 0) {
+        maxAge = seconds(StringUtils.substringAfter(directive, "="));
+      }
+    }
+
+    /**
+     * @return freshness lifetime in ms, <tt>0</tt> when the template must be revalidated every time
+     */
+    long ttl(long defaultTtl) {
+      if (noCache) {
+        return 0;
+      }
+      return maxAge >= 0 ? maxAge : defaultTtl;
+    }
+
+    private static long seconds(String value) {
+      try {
+        return TimeUnit.SECONDS.toMillis(Long.parseLong(StringUtils.strip(value, "\"")));
+      } catch (NumberFormatException e) {
+        return 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class HttpRepositoryConnectorProxyImplTest {
+
+  private static final int PORT = 3099;
+
+  private static final String TEMPLATE = "<html><body>template</body></html>";
+
+  private static final String ETAG = "\"v1\"";
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  private final List<String> originRequests = new ArrayList<>();
+
+  private HttpRepositoryConnectorProxyImpl connector;
+
+  @Before
+  public void setUp(TestContext context) {
+    Vertx instance = vertx.vertx();
+    HttpServer origin = instance.createHttpServer().requestHandler(request -> {
+      String ifNoneMatch = request.getHeader("If-None-Match");
+      originRequests.add(ifNoneMatch == null ? "GET" : "GET " + ifNoneMatch);
+      // delay the response, so that concurrent requests overlap
+      instance.setTimer(100, timer -> {
+        if (ETAG.equals(ifNoneMatch)) {
+          request.response().setStatusCode(304)
+              .putHeader("ETag", ETAG)
+              .end();
+        } else {
+          request.response()
+              .putHeader("Cache-Control", "no-cache")
+              .putHeader("ETag", ETAG)
+              .end(TEMPLATE);
+        }
+      });
+    });
+    origin.listen(PORT, context.asyncAssertSuccess());
+
+    connector = new HttpRepositoryConnectorProxyImpl(instance, new JsonObject()
+        .put("clientDestination", new JsonObject()
+            .put("scheme", "http")
+            .put("domain", "localhost")
+            .put("port", PORT))
+        .put("cache", new JsonObject().put("enabled", true)));
+  }
+
+  @Test
+  public void process_whenConcurrentRequests_expectSingleRepositoryCall(TestContext context) {
+    Async async = context.async(3);
+
+    for (int i = 0; i < 3; i++) {
+      connector.process(request(), context.asyncAssertSuccess(response -> {
+        assertTemplate(context, response);
+        async.countDown();
+      }));
+    }
+
+    async.handler(done -> {
+      context.assertEquals(1, originRequests.size());
+    });
+  }
+
+  @Test
+  public void process_whenStaleTemplateNotModified_expectCachedBodyAndConditionalRequest(
+      TestContext context) {
+    Async async = context.async();
+
+    connector.process(request(), context.asyncAssertSuccess(first -> {
+      assertTemplate(context, first);
+      connector.process(request(), context.asyncAssertSuccess(second -> {
+        assertTemplate(context, second);
+        context.assertEquals(ETAG, second.getHeaders().get("ETag"));
+        context.assertEquals(2, originRequests.size());
+        context.assertEquals("GET " + ETAG, originRequests.get(1));
+        async.complete();
+      }));
+    }));
+  }
+
+  private ClientRequest request() {
+    return new ClientRequest().setPath("/content/page.html");
+  }
+
+  private void assertTemplate(TestContext context, ClientResponse response) {
+    context.assertEquals(200, response.getStatusCode());
+    context.assertEquals(TEMPLATE, response.getBody().toString());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.repository.impl.TemplateCache.CachedTemplate;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import org.junit.Test;
+
+public class TemplateCacheTest {
+
+  private static final String KEY = "/content/page.html";
+
+  private final TemplateCache templateCache = new TemplateCache(
+      new JsonObject().put("enabled", true));
+
+  @Test
+  public void update_whenMaxAge_expectFreshTemplate() {
+    templateCache.update(KEY, null, response("max-age=60", null));
+
+    assertTrue(templateCache.get(KEY).isFresh());
+  }
+
+  @Test
+  public void update_whenNoStore_expectNotCached() {
+    templateCache.update(KEY, null, response("no-store, max-age=60", "\"v1\""));
+
+    assertNull(templateCache.get(KEY));
+  }
+
+  @Test
+  public void update_whenNoCacheWithETag_expectStaleTemplateRevalidatedWithIfNoneMatch() {
+    templateCache.update(KEY, null, response("no-cache", "\"v1\""));
+    CachedTemplate cached = templateCache.get(KEY);
+
+    assertNotNull(cached);
+    assertFalse(cached.isFresh());
+    assertEquals("\"v1\"", templateCache
+        .repositoryHeaders(MultiMap.caseInsensitiveMultiMap().add("If-None-Match", "\"x\""),
+            cached)
+        .get("If-None-Match"));
+  }
+
+  @Test
+  public void update_whenNotModified_expectCachedBodyReturned() {
+    templateCache.update(KEY, null, response("max-age=0", "\"v1\""));
+    CachedTemplate cached = templateCache.get(KEY);
+
+    ClientResponse notModified = new ClientResponse().setStatusCode(304)
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Cache-Control", "max-age=60"));
+    ClientResponse result = templateCache.update(KEY, cached, notModified);
+
+    assertEquals(200, result.getStatusCode());
+    assertEquals("<html></html>", result.getBody().toString());
+    assertTrue(templateCache.get(KEY).isFresh());
+  }
+
+  private ClientResponse response(String cacheControl, String etag) {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Cache-Control", cacheControl);
+    if (etag != null) {
+      headers.add("ETag", etag);
+    }
+    return new ClientResponse().setStatusCode(200).setHeaders(headers)
+        .setBody(Buffer.buffer("<html></html>"));
+  }
+}
@@ -57,6 +57,7 @@ public class KnotxAssemblerHandler implements Handler<RoutingContext> {
           .subscribe(
               ctx -> {
                 if (isOkClientResponse(ctx.getClientResponse())) {
+                  storeInPageCache(context, ctx.getClientResponse());
                   sendResponse(context, ctx.getClientResponse());
                 } else {
                   context.fail(ctx.getClientResponse().getStatusCode());
@@ -73,6 +74,14 @@ public class KnotxAssemblerHandler implements Handler<RoutingContext> {
     }
   }
 
+  private void storeInPageCache(RoutingContext context, ClientResponse clientResponse) {
+    KnotxPageCacheHandler.PendingPage pendingPage = context
+        .get(KnotxPageCacheHandler.PENDING_PAGE_KEY);
+    if (pendingPage != null) {
+      pendingPage.store(clientResponse);
+    }
+  }
+
   private boolean isOkClientResponse(ClientResponse clientResponse) {
     return clientResponse.getStatusCode() == HttpResponseStatus.OK.code();
   }
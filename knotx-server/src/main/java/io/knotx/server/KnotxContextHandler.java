@@ -17,6 +17,8 @@ package io.knotx.server;
 
 import io.knotx.dataobjects.ClientRequest;
 import io.knotx.dataobjects.KnotContext;
+import io.knotx.server.configuration.RoutingEntry;
+import io.knotx.util.Deadlines;
 import io.vertx.core.Handler;
 import io.vertx.reactivex.ext.web.RoutingContext;
 
@@ -24,8 +26,12 @@ public class KnotxContextHandler implements Handler<RoutingContext> {
 
   @Override
   public void handle(RoutingContext context) {
-    context.put(KnotContext.KEY,
-        new KnotContext().setClientRequest(new ClientRequest(context.request())));
+    ClientRequest clientRequest = new ClientRequest(context.request());
+    RoutingEntry routingEntry = context.get(RoutingEntry.KEY);
+    if (routingEntry != null) {
+      clientRequest.setDeadline(Deadlines.after(routingEntry.requestTimeout()));
+    }
+    context.put(KnotContext.KEY, new KnotContext().setClientRequest(clientRequest));
     context.next();
   }
 
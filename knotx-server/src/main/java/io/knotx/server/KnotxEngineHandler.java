@@ -19,10 +19,13 @@ import io.knotx.dataobjects.KnotContext;
 import io.knotx.reactivex.proxy.KnotProxy;
 import io.knotx.server.configuration.KnotxServerConfiguration;
 import io.knotx.server.configuration.RoutingEntry;
+import io.knotx.util.Deadlines;
 import io.knotx.util.OptionalAction;
+import io.reactivex.Scheduler;
 import io.vertx.core.Handler;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.ext.web.RoutingContext;
 import java.util.HashMap;
@@ -38,6 +41,7 @@ class KnotxEngineHandler implements Handler<RoutingContext> {
   private String address;
   private Map<String, RoutingEntry> routing;
   private Map<String, KnotProxy> proxies;
+  private Scheduler scheduler;
 
   private KnotxEngineHandler(Vertx vertx, KnotxServerConfiguration configuration, String address,
       Map<String, RoutingEntry> routing) {
@@ -46,6 +50,7 @@ class KnotxEngineHandler implements Handler<RoutingContext> {
     this.address = address;
     this.routing = routing;
     this.proxies = new HashMap<>();
+    this.scheduler = RxHelper.scheduler(vertx);
   }
 
   static KnotxEngineHandler create(Vertx vertx, KnotxServerConfiguration configuration, String address,
@@ -67,9 +72,10 @@ class KnotxEngineHandler implements Handler<RoutingContext> {
       final Map<String, RoutingEntry> routing) {
     KnotContext knotContext = context.get(KnotContext.KEY);
 
-    proxies.computeIfAbsent(address,
-        adr -> KnotProxy.createProxyWithOptions(vertx, adr, configuration.getDeliveryOptions()))
-        .rxProcess(knotContext)
+    KnotProxy proxy = proxies.computeIfAbsent(address,
+        adr -> KnotProxy.createProxyWithOptions(vertx, adr, configuration.getDeliveryOptions()));
+
+    Deadlines.limit(proxy.rxProcess(knotContext), knotContext.getClientRequest(), scheduler)
         .doOnSuccess(ctx -> context.put(KnotContext.KEY, ctx))
         .subscribe(
             ctx -> OptionalAction.of(Optional.ofNullable(ctx.getTransition()))
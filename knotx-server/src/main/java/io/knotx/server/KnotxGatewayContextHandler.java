@@ -21,9 +21,12 @@ import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.reactivex.proxy.KnotProxy;
 import io.knotx.server.configuration.KnotxServerConfiguration;
+import io.knotx.util.Deadlines;
+import io.reactivex.Scheduler;
 import io.vertx.core.Handler;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.ext.web.RoutingContext;
 import java.util.Collections;
@@ -38,6 +41,7 @@ public class KnotxGatewayContextHandler implements Handler<RoutingContext> {
   private KnotxServerConfiguration configuration;
   private String address;
   private Map<String, KnotProxy> proxies;
+  private Scheduler scheduler;
 
   private KnotxGatewayContextHandler(Vertx vertx, KnotxServerConfiguration configuration,
       String address) {
@@ -45,6 +49,7 @@ public class KnotxGatewayContextHandler implements Handler<RoutingContext> {
     this.configuration = configuration;
     this.address = address;
     this.proxies = new HashMap<>();
+    this.scheduler = RxHelper.scheduler(vertx);
   }
 
   static KnotxGatewayContextHandler create(Vertx vertx, KnotxServerConfiguration configuration,
@@ -63,9 +68,10 @@ public class KnotxGatewayContextHandler implements Handler<RoutingContext> {
 
     LOGGER.debug("CustomFlow: Routing the traffic to '{}'", address);
 
-    proxies.computeIfAbsent(address,
-        adr -> KnotProxy.createProxyWithOptions(vertx, adr, configuration.getDeliveryOptions()))
-        .rxProcess(knotContext)
+    KnotProxy proxy = proxies.computeIfAbsent(address,
+        adr -> KnotProxy.createProxyWithOptions(vertx, adr, configuration.getDeliveryOptions()));
+
+    Deadlines.limit(proxy.rxProcess(knotContext), knotContext.getClientRequest(), scheduler)
         .doOnSuccess(ctx -> context.put(KnotContext.KEY, ctx))
         .subscribe(
             ctx -> {
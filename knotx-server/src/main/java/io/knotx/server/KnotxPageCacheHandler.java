@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.server.PageCache.CachedPage;
+import io.knotx.server.PageCache.PageRender;
+import io.knotx.server.configuration.KnotxServerConfiguration;
+import io.knotx.server.configuration.PageCacheRule;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
+import io.vertx.reactivex.ext.web.Cookie;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+/**
+ * Serves GET requests from the {@link PageCache} when the page was already rendered for the same
+ * cache key. Otherwise the request is processed by the rest of the chain and the rendered page is
+ * stored by the {@link KnotxAssemblerHandler}. Requests for a page that is being rendered wait
+ * for that rendering.
+ */
+class KnotxPageCacheHandler implements Handler<RoutingContext> {
+
+  static final String PENDING_PAGE_KEY = "knotx.pageCache.pending";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KnotxPageCacheHandler.class);
+
+  private static final char SEPARATOR = '\u0000';
+
+  private final KnotxServerConfiguration configuration;
+
+  private final PageCacheRule rule;
+
+  private final PageCache pageCache;
+
+  private KnotxPageCacheHandler(Vertx vertx, KnotxServerConfiguration configuration,
+      PageCacheRule rule) {
+    this.configuration = configuration;
+    this.rule = rule;
+    this.pageCache = PageCache.get(vertx, configuration.getPageCacheConfig());
+  }
+
+  static KnotxPageCacheHandler create(Vertx vertx, KnotxServerConfiguration configuration,
+      PageCacheRule rule) {
+    return new KnotxPageCacheHandler(vertx, configuration, rule);
+  }
+
+  @Override
+  public void handle(RoutingContext context) {
+    if (context.request().method() != HttpMethod.GET) {
+      context.next();
+      return;
+    }
+    String key = cacheKey(context);
+    CachedPage page = pageCache.get(key);
+    if (page == null) {
+      render(context, key);
+    } else if (page.isFresh() || !page.startRefresh()) {
+      LOGGER.trace("Serving [{}] from the page cache", key);
+      sendPage(context, page);
+    } else {
+      LOGGER.debug("Refreshing stale page [{}]", key);
+      context.addBodyEndHandler(done -> page.endRefresh());
+      context.response().closeHandler(closed -> page.endRefresh());
+      context.put(PENDING_PAGE_KEY, new PendingPage(key, context));
+      context.next();
+    }
+  }
+
+  private void render(RoutingContext context, String key) {
+    Context vertxContext = context.vertx().getOrCreateContext().getDelegate();
+    PageRender render = pageCache.startRender(key, page -> vertxContext.runOnContext(v -> {
+      if (context.response().closed()) {
+        return;
+      }
+      if (page != null) {
+        LOGGER.trace("Serving [{}] rendered by a concurrent request", key);
+        sendPage(context, page);
+      } else {
+        context.put(PENDING_PAGE_KEY, new PendingPage(key, context));
+        context.next();
+      }
+    }));
+    if (render != null) {
+      context.addBodyEndHandler(done -> render.end());
+      context.response().closeHandler(closed -> render.end());
+      context.put(PENDING_PAGE_KEY, new PendingPage(key, context));
+      context.next();
+    }
+  }
+
+  private String cacheKey(RoutingContext context) {
+    HttpServerRequest request = context.request();
+    StringBuilder key = new StringBuilder()
+        .append(request.host() == null ? "" : request.host())
+        .append(SEPARATOR)
+        .append(request.path());
+    rule.getParams().forEach(name -> appendValues(key, name, request.params().getAll(name)));
+    rule.getHeaders().forEach(name -> appendValues(key, name, request.headers().getAll(name)));
+    rule.getCookies().forEach(name -> {
+      Cookie cookie = context.getCookie(name);
+      key.append(SEPARATOR).append(name).append('=');
+      if (cookie != null) {
+        key.append(cookie.getValue());
+      }
+    });
+    return key.toString();
+  }
+
+  private void appendValues(StringBuilder key, String name, Iterable<String> values) {
+    key.append(SEPARATOR).append(name).append('=');
+    values.forEach(value -> key.append(value).append(','));
+  }
+
+  private void sendPage(RoutingContext context, CachedPage page) {
+    context.response().headers().addAll(page.headers());
+    context.response().setStatusCode(page.statusCode());
+    context.response().end(Buffer.newInstance(page.body()));
+  }
+
+  /**
+   * Page that should be stored once rendered.
+   */
+  class PendingPage {
+
+    private final String key;
+
+    private final RoutingContext context;
+
+    private PendingPage(String key, RoutingContext context) {
+      this.key = key;
+      this.context = context;
+    }
+
+    /**
+     * Stores the successful response, unless it sets cookies which would leak between visitors.
+     * Cookies set directly on the HTTP response by other handlers (e.g. CSRF) are checked too.
+     */
+    void store(ClientResponse clientResponse) {
+      MultiMap responseHeaders = clientResponse.getHeaders();
+      if (clientResponse.getStatusCode() != HttpResponseStatus.OK.code()
+          || responseHeaders.contains(HttpHeaders.SET_COOKIE.toString())
+          || context.response().headers().contains(HttpHeaders.SET_COOKIE.toString())) {
+        return;
+      }
+      MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+      responseHeaders.names().stream()
+          .filter(name -> configuration.getAllowedResponseHeaders().contains(name.toLowerCase()))
+          .filter(name -> !HttpHeaders.CONTENT_LENGTH.toString().equalsIgnoreCase(name))
+          .forEach(name -> responseHeaders.getAll(name)
+              .forEach(value -> headers.add(name, value)));
+      pageCache.put(key, new CachedPage(clientResponse.getStatusCode(), headers,
+          clientResponse.getBody(), rule.getTtl()));
+    }
+  }
+}
@@ -20,11 +20,14 @@ import io.knotx.dataobjects.KnotContext;
 import io.knotx.reactivex.proxy.RepositoryConnectorProxy;
 import io.knotx.server.configuration.KnotxServerConfiguration;
 import io.knotx.server.configuration.RepositoryEntry;
+import io.knotx.util.Deadlines;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.reactivex.Scheduler;
 import io.vertx.core.Handler;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.core.buffer.Buffer;
 import io.vertx.reactivex.core.http.HttpServerResponse;
@@ -43,10 +46,13 @@ public class KnotxRepositoryHandler implements Handler<RoutingContext> {
 
   private Map<String, RepositoryConnectorProxy> proxies;
 
+  private Scheduler scheduler;
+
   private KnotxRepositoryHandler(Vertx vertx, KnotxServerConfiguration configuration) {
     this.vertx = vertx;
     this.configuration = configuration;
     this.proxies = new HashMap<>();
+    this.scheduler = RxHelper.scheduler(vertx);
   }
 
   static KnotxRepositoryHandler create(Vertx vertx, KnotxServerConfiguration configuration) {
@@ -55,14 +61,17 @@ public class KnotxRepositoryHandler implements Handler<RoutingContext> {
 
   @Override
   public void handle(RoutingContext context) {
-    final Optional<RepositoryEntry> repositoryEntry = configuration
-        .getDefaultFlow().repositoryForPath(context.request().path());
+    final Optional<RepositoryEntry> repositoryEntry = Optional
+        .ofNullable(context.<RepositoryEntry>get(RepositoryEntry.KEY));
     final KnotContext knotContext = context.get(KnotContext.KEY);
 
     if (repositoryEntry.isPresent()) {
-      proxies.computeIfAbsent(repositoryEntry.get().address(), adr -> RepositoryConnectorProxy
-          .createProxyWithOptions(vertx, adr, configuration.getDeliveryOptions()))
-          .rxProcess(knotContext.getClientRequest())
+      RepositoryConnectorProxy proxy = proxies.computeIfAbsent(repositoryEntry.get().address(),
+          adr -> RepositoryConnectorProxy
+              .createProxyWithOptions(vertx, adr, configuration.getDeliveryOptions()));
+
+      Deadlines.limit(proxy.rxProcess(knotContext.getClientRequest()),
+          knotContext.getClientRequest(), scheduler)
           .doOnSuccess(this::traceMessage)
           .subscribe(
               repoResponse -> handleRepositoryResponse(repoResponse, context, repositoryEntry.get(),
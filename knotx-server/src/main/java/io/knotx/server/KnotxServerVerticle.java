@@ -80,6 +80,17 @@ public class KnotxServerVerticle extends AbstractVerticle {
                   .pathRegex(criteria.path())
                   .handler(csrfHandler);
             }
+            criteria.pageCache().ifPresent(rule -> {
+              if (criteria.isCsrfEnabled()) {
+                LOGGER.warn("Page cache is not available for CSRF protected route [{}]",
+                    criteria.path());
+              } else {
+                router.route()
+                    .method(key)
+                    .pathRegex(criteria.path())
+                    .handler(KnotxPageCacheHandler.create(vertx, configuration, rule));
+              }
+            });
             router.route()
                 .method(key)
                 .pathRegex(criteria.path())
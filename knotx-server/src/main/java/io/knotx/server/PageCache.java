@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.knotx.server.configuration.PageCacheConfig;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rendered pages shared by all Server instances deployed in the Vert.x instance with the same page
+ * cache configuration. The cache is bounded by the total size of the pages.
+ * <p>
+ * A missing page is rendered by a single request, concurrent requests for the page wait for it.
+ */
+class PageCache implements Shareable {
+
+  private static final String MAP_NAME = "knotx.server.pageCache";
+
+  private static final String CACHE_KEY_PREFIX = "pages:";
+
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private final Cache<String, CachedPage> pages;
+
+  private final long staleTtl;
+
+  private final ConcurrentMap<String, PageRender> renders = new ConcurrentHashMap<>();
+
+  private PageCache(PageCacheConfig config) {
+    this.staleTtl = config.getStaleTtl();
+    this.pages = CacheBuilder.newBuilder()
+        .maximumWeight(config.getMaxSize())
+        .weigher(PageCache::weight)
+        .build();
+  }
+
+  static PageCache get(Vertx vertx, PageCacheConfig config) {
+    LocalMap<String, PageCache> map = vertx.getDelegate().sharedData().getLocalMap(MAP_NAME);
+    String key = CACHE_KEY_PREFIX + config.getMaxSize() + ':' + config.getStaleTtl();
+    PageCache pageCache = map.get(key);
+    if (pageCache == null) {
+      PageCache created = new PageCache(config);
+      pageCache = map.putIfAbsent(key, created);
+      if (pageCache == null) {
+        pageCache = created;
+      }
+    }
+    return pageCache;
+  }
+
+  /**
+   * @return cached page that is fresh or may still be served stale, <tt>null</tt> otherwise
+   */
+  CachedPage get(String key) {
+    CachedPage page = pages.getIfPresent(key);
+    if (page != null && page.expiresAt + staleTtl < System.currentTimeMillis()) {
+      pages.invalidate(key);
+      page = null;
+    }
+    return page;
+  }
+
+  void put(String key, CachedPage page) {
+    pages.put(key, page);
+  }
+
+  /**
+   * Starts rendering of the missing page, unless another request already renders it. The waiter
+   * is then called once that rendering ends, with the rendered page or <tt>null</tt> when the page
+   * was not stored.
+   *
+   * @return rendering started by the caller, <tt>null</tt> when the page is already rendered
+   */
+  PageRender startRender(String key, Handler<CachedPage> waiter) {
+    PageRender created = new PageRender(key);
+    PageRender render = renders.compute(key, (k, current) -> {
+      if (current == null) {
+        return created;
+      }
+      current.waiters.add(waiter);
+      return current;
+    });
+    return render == created ? render : null;
+  }
+
+  private static int weight(String key, CachedPage page) {
+    return key.length() * 2 + page.body.length() + ENTRY_OVERHEAD;
+  }
+
+  class PageRender {
+
+    private final String key;
+
+    private final List<Handler<CachedPage>> waiters = new ArrayList<>();
+
+    private PageRender(String key) {
+      this.key = key;
+    }
+
+    /**
+     * Ends the rendering, the waiting requests get the page stored by it.
+     */
+    void end() {
+      if (renders.remove(key, this)) {
+        CachedPage page = pages.getIfPresent(key);
+        waiters.forEach(waiter -> waiter.handle(page));
+      }
+    }
+  }
+
+  static class CachedPage {
+
+    private final int statusCode;
+
+    private final MultiMap headers;
+
+    private final Buffer body;
+
+    private final long expiresAt;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    CachedPage(int statusCode, MultiMap headers, Buffer body, long ttl) {
+      this.statusCode = statusCode;
+      this.headers = headers;
+      this.body = body;
+      this.expiresAt = System.currentTimeMillis() + ttl;
+    }
+
+    boolean isFresh() {
+      return System.currentTimeMillis() < expiresAt;
+    }
+
+    /**
+     * @return <tt>true</tt> if the caller is the only one that should render a fresh version of
+     * this stale page
+     */
+    boolean startRefresh() {
+      return refreshing.compareAndSet(false, true);
+    }
+
+    void endRefresh() {
+      refreshing.set(false);
+    }
+
+    int statusCode() {
+      return statusCode;
+    }
+
+    MultiMap headers() {
+      return headers;
+    }
+
+    Buffer body() {
+      return body;
+    }
+  }
+}
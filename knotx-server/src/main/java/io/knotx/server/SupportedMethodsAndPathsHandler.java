@@ -17,13 +17,21 @@ package io.knotx.server;
 
 import io.knotx.server.configuration.KnotxFlowConfiguration;
 import io.knotx.server.configuration.KnotxServerConfiguration;
+import io.knotx.server.configuration.RepositoryEntry;
+import io.knotx.server.configuration.RoutingEntry;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.ext.web.RoutingContext;
+import java.util.Optional;
 
+/**
+ * Resolves the route of the request against the precompiled routing of the default and custom
+ * flows. The matched {@link RoutingEntry} (and {@link RepositoryEntry} for the default flow) is
+ * stored in the routing context, so the next handlers do not need to match the path again.
+ */
 public class SupportedMethodsAndPathsHandler implements Handler<RoutingContext> {
 
   private static final Logger LOGGER = LoggerFactory
@@ -47,33 +55,27 @@ public class SupportedMethodsAndPathsHandler implements Handler<RoutingContext>
     final String path = context.request().path();
     final HttpMethod method = context.request().method();
 
-    if (isPathSupportedByFlow(path, defaultFlow)) {
-      if (isMethodAllowedInFlow(method, defaultFlow)) {
-        context.next();
-      } else {
-        LOGGER.warn("{} path supported by DefaultFlow. {} method not allowed.", path, method);
-        context.fail(HttpResponseStatus.METHOD_NOT_ALLOWED.code());
-      }
-    } else if (isPathSupportedByFlow(path, customFlow)) {
-      if (isMethodAllowedInFlow(method, customFlow)) {
-        context.next();
-      } else {
-        LOGGER.warn("{} path supported by CustomFlow. {} method not allowed.", path, method);
-        context.fail(HttpResponseStatus.METHOD_NOT_ALLOWED.code());
-      }
+    Optional<RoutingEntry> defaultRoute = defaultFlow.routingEntryFor(method, path);
+    if (defaultRoute.isPresent()) {
+      context.put(RoutingEntry.KEY, defaultRoute.get());
+      defaultFlow.repositoryForPath(path)
+          .ifPresent(repository -> context.put(RepositoryEntry.KEY, repository));
+      context.next();
+      return;
+    }
+    Optional<RoutingEntry> customRoute = customFlow.routingEntryFor(method, path);
+    if (customRoute.isPresent()) {
+      context.put(RoutingEntry.KEY, customRoute.get());
+      context.next();
+    } else if (defaultFlow.supportsPath(path)) {
+      LOGGER.warn("{} path supported by DefaultFlow. {} method not allowed.", path, method);
+      context.fail(HttpResponseStatus.METHOD_NOT_ALLOWED.code());
+    } else if (customFlow.supportsPath(path)) {
+      LOGGER.warn("{} path supported by CustomFlow. {} method not allowed.", path, method);
+      context.fail(HttpResponseStatus.METHOD_NOT_ALLOWED.code());
     } else {
       LOGGER.warn("{} {} is not supported by default and custom flows.", method, path);
       context.fail(HttpResponseStatus.NOT_FOUND.code());
     }
   }
-
-  private boolean isPathSupportedByFlow(final String path, KnotxFlowConfiguration flow) {
-    return flow.getEngineRouting() != null && flow.getEngineRouting().values().stream()
-        .anyMatch(list -> list.stream().anyMatch(item -> path.matches(item.path())));
-  }
-
-  private boolean isMethodAllowedInFlow(final HttpMethod method, KnotxFlowConfiguration flow) {
-    return flow.getEngineRouting() != null && flow.getEngineRouting().keySet().stream()
-        .anyMatch(item -> item == method);
-  }
 }
@@ -29,7 +29,7 @@ import io.vertx.core.json.JsonObject;
 
 public class KnotxFlowConfiguration {
 
-  private Map<String, RepositoryEntry> repositoryAddressMapping;
+  private Map<PathPattern, RepositoryEntry> repositoryAddressMapping;
 
   private String splitterAddress;
 
@@ -41,12 +41,13 @@ public class KnotxFlowConfiguration {
 
   public KnotxFlowConfiguration(JsonObject config) {
     if(config != null) {
-      repositoryAddressMapping = Maps.newHashMap();
+      repositoryAddressMapping = Maps.newLinkedHashMap();
       JsonArray repositories = config.getJsonArray("repositories");
       if (repositories != null) {
         repositories.stream()
             .map(item -> (JsonObject) item)
-            .forEach(object -> repositoryAddressMapping.put(object.getString("path"),
+            .forEach(object -> repositoryAddressMapping.put(
+                new PathPattern(object.getString("path")),
                 new RepositoryEntry(object.getString("address"),
                     object.getBoolean("doProcessing", true))));
       }
@@ -87,7 +88,9 @@ public class KnotxFlowConfiguration {
         object.getString("path"),
         object.getBoolean("csrf", false),
         object.getString("address"),
-        parseOnTransition(object.getJsonObject("onTransition")));
+        parseOnTransition(object.getJsonObject("onTransition")),
+        Optional.ofNullable(object.getJsonObject("cache")).map(PageCacheRule::new).orElse(null),
+        object.getLong("requestTimeout", 0L));
   }
 
   private Map<String, RoutingEntry> parseOnTransition(JsonObject onTransition) {
@@ -108,10 +111,41 @@ public class KnotxFlowConfiguration {
         .orElse(null);
   }
 
+  /**
+   * @return first repository, in the declaration order, matching the path
+   */
   public Optional<RepositoryEntry> repositoryForPath(final String path) {
-    return repositoryAddressMapping.entrySet().stream()
-        .filter(mapping -> path.matches(mapping.getKey()))
-        .findFirst().map(Map.Entry::getValue);
+    if (repositoryAddressMapping != null) {
+      for (Map.Entry<PathPattern, RepositoryEntry> mapping : repositoryAddressMapping.entrySet()) {
+        if (mapping.getKey().matches(path)) {
+          return Optional.of(mapping.getValue());
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return first routing entry, in the declaration order, defined for the method and matching the
+   * path
+   */
+  public Optional<RoutingEntry> routingEntryFor(final HttpMethod method, final String path) {
+    if (engineRouting != null && engineRouting.containsKey(method)) {
+      for (RoutingEntry entry : engineRouting.get(method)) {
+        if (entry.matches(path)) {
+          return Optional.of(entry);
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return <tt>true</tt> when the path is matched by a routing entry of any method
+   */
+  public boolean supportsPath(final String path) {
+    return engineRouting != null && engineRouting.values().stream()
+        .anyMatch(entries -> entries.stream().anyMatch(entry -> entry.matches(path)));
   }
 
   public String splitterAddress() {
@@ -48,6 +48,8 @@ public class KnotxServerConfiguration {
 
   private AccessLogConfig accessLogConfig;
 
+  private PageCacheConfig pageCacheConfig;
+
   public KnotxServerConfiguration(JsonObject config) {
     displayExceptionDetails = config.getBoolean("displayExceptionDetails", false);
 
@@ -71,6 +73,8 @@ public class KnotxServerConfiguration {
     csrfConfig = new KnotxCSRFConfig(config.getJsonObject("csrf", new JsonObject()));
 
     accessLogConfig = new AccessLogConfig(config.getJsonObject("accessLog", new JsonObject()));
+
+    pageCacheConfig = new PageCacheConfig(config.getJsonObject("pageCache", new JsonObject()));
   }
 
   public boolean displayExceptionDetails() {
@@ -116,4 +120,8 @@ public class KnotxServerConfiguration {
   public AccessLogConfig getAccessLogConfig() {
     return accessLogConfig;
   }
+
+  public PageCacheConfig getPageCacheConfig() {
+    return pageCacheConfig;
+  }
 }
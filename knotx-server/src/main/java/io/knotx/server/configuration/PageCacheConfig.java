@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server.configuration;
+
+import io.vertx.core.json.JsonObject;
+
+public class PageCacheConfig {
+
+  private static final long DEFAULT_MAX_SIZE = 64 * 1024 * 1024; // 64 MB
+
+  private static final long DEFAULT_STALE_TTL = 0;
+
+  private final long maxSize;
+
+  private final long staleTtl;
+
+  public PageCacheConfig(JsonObject config) {
+    maxSize = config.getLong("maxSize", DEFAULT_MAX_SIZE);
+    staleTtl = config.getLong("staleTtl", DEFAULT_STALE_TTL);
+  }
+
+  /**
+   * @return maximum total size of the cached pages in bytes
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return how long (in ms) an expired page is still served while a single request renders its
+   * fresh version
+   */
+  public long getStaleTtl() {
+    return staleTtl;
+  }
+}
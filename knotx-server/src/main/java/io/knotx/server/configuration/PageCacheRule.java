@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server.configuration;
+
+import io.knotx.exceptions.ConfigurationException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Page cache settings of a single routing entry. The cache key consists of the request host and
+ * path and the values of the query params, headers and cookies listed here.
+ */
+public class PageCacheRule {
+
+  private final long ttl;
+
+  private final List<String> params;
+
+  private final List<String> headers;
+
+  private final List<String> cookies;
+
+  public PageCacheRule(JsonObject config) {
+    if (!config.containsKey("ttl")) {
+      throw new ConfigurationException("Page cache requires [ttl] to be set: " + config.encode());
+    }
+    ttl = config.getLong("ttl");
+    params = sortedNames(config.getJsonArray("params", new JsonArray()));
+    headers = sortedNames(config.getJsonArray("headers", new JsonArray()));
+    cookies = sortedNames(config.getJsonArray("cookies", new JsonArray()));
+  }
+
+  private static List<String> sortedNames(JsonArray names) {
+    return names.stream().map(String.class::cast).sorted().collect(Collectors.toList());
+  }
+
+  public long getTtl() {
+    return ttl;
+  }
+
+  public List<String> getParams() {
+    return params;
+  }
+
+  public List<String> getHeaders() {
+    return headers;
+  }
+
+  public List<String> getCookies() {
+    return cookies;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server.configuration;
+
+import java.util.regex.Pattern;
+
+/**
+ * Path regular expression compiled once at startup. The literal prefix of the expression is kept
+ * aside, so most of the not matching paths are rejected with a simple <tt>startsWith</tt> check
+ * instead of running the regex.
+ */
+public final class PathPattern {
+
+  private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+  private static final String QUANTIFIERS = "?*+{";
+
+  private final String regex;
+
+  private final Pattern pattern;
+
+  private final String prefix;
+
+  public PathPattern(String regex) {
+    this.regex = regex;
+    this.pattern = Pattern.compile(regex);
+    this.prefix = literalPrefix(regex);
+  }
+
+  public boolean matches(String path) {
+    return path.startsWith(prefix) && pattern.matcher(path).matches();
+  }
+
+  public String regex() {
+    return regex;
+  }
+
+  String prefix() {
+    return prefix;
+  }
+
+  /**
+   * @return characters every matching path has to start with, an empty string when it can not be
+   * determined (e.g. expressions with alternatives)
+   */
+  static String literalPrefix(String regex) {
+    if (regex.indexOf('|') >= 0) {
+      return "";
+    }
+    StringBuilder prefix = new StringBuilder();
+    int index = regex.startsWith("^") ? 1 : 0;
+    while (index < regex.length()) {
+      char current = regex.charAt(index);
+      char literal;
+      int next;
+      if (current == '\\' && index + 1 < regex.length()
+          && !Character.isLetterOrDigit(regex.charAt(index + 1))) {
+        literal = regex.charAt(index + 1);
+        next = index + 2;
+      } else if (META_CHARACTERS.indexOf(current) < 0) {
+        literal = current;
+        next = index + 1;
+      } else {
+        break;
+      }
+      if (next < regex.length() && QUANTIFIERS.indexOf(regex.charAt(next)) >= 0) {
+        break;
+      }
+      prefix.append(literal);
+      index = next;
+    }
+    return prefix.toString();
+  }
+
+  @Override
+  public String toString() {
+    return regex;
+  }
+}
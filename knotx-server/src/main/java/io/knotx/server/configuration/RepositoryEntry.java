@@ -17,6 +17,8 @@ package io.knotx.server.configuration;
 
 public class RepositoryEntry {
 
+  public static final String KEY = "repositoryEntry";
+
   private String address;
   private boolean doProcessing;
 
@@ -16,25 +16,48 @@
 package io.knotx.server.configuration;
 
 import java.util.Map;
+import java.util.Optional;
 
 public class RoutingEntry {
 
+  public static final String KEY = "routingEntry";
+
   private String path;
+  private PathPattern pathPattern;
   private boolean csrfEnabled;
   private String address;
   private Map<String, RoutingEntry> onTransition;
+  private PageCacheRule pageCache;
+  private long requestTimeout;
 
   public RoutingEntry(String path, boolean csrfEnabled, String address, Map<String, RoutingEntry> onTransition) {
+    this(path, csrfEnabled, address, onTransition, null);
+  }
+
+  public RoutingEntry(String path, boolean csrfEnabled, String address,
+      Map<String, RoutingEntry> onTransition, PageCacheRule pageCache) {
+    this(path, csrfEnabled, address, onTransition, pageCache, 0L);
+  }
+
+  public RoutingEntry(String path, boolean csrfEnabled, String address,
+      Map<String, RoutingEntry> onTransition, PageCacheRule pageCache, long requestTimeout) {
     this.path = path;
+    this.pathPattern = path == null ? null : new PathPattern(path);
     this.csrfEnabled = csrfEnabled;
     this.address = address;
     this.onTransition = onTransition;
+    this.pageCache = pageCache;
+    this.requestTimeout = requestTimeout;
   }
 
   public String path() {
     return path;
   }
 
+  public boolean matches(String requestPath) {
+    return pathPattern != null && pathPattern.matches(requestPath);
+  }
+
   public boolean isCsrfEnabled() {
     return csrfEnabled;
   }
@@ -46,4 +69,16 @@ public class RoutingEntry {
   public Map<String, RoutingEntry> onTransition() {
     return onTransition;
   }
+
+  public Optional<PageCacheRule> pageCache() {
+    return Optional.ofNullable(pageCache);
+  }
+
+  /**
+   * @return latency budget in ms of the whole request processing, <tt>0</tt> when the request is
+   * limited only by the timeouts of the particular calls
+   */
+  public long requestTimeout() {
+    return requestTimeout;
+  }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.server.KnotxPageCacheHandler.PendingPage;
+import io.knotx.server.configuration.KnotxServerConfiguration;
+import io.knotx.server.configuration.PageCacheConfig;
+import io.knotx.server.configuration.PageCacheRule;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.reactivex.Single;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.ext.web.Router;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import io.vertx.reactivex.ext.web.client.WebClient;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+@RunWith(VertxUnitRunner.class)
+public class KnotxPageCacheHandlerTest {
+
+  private static final int PORT = 9093;
+
+  private static final String PAGE = "/content/page.html";
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  private AtomicInteger renders;
+
+  private long renderTime;
+
+  private int pageSize;
+
+  @Before
+  public void setUp() {
+    renders = new AtomicInteger();
+    renderTime = 1L;
+    pageSize = 0;
+  }
+
+  @Test
+  public void handle_whenPageCached_expectPageServedFromCache(TestContext testContext) {
+    Single<List<String>> responses = get(PAGE, "localhost")
+        .flatMap(first -> get(PAGE, "localhost").map(second -> Arrays.asList(first, second)));
+
+    verify(testContext, new JsonObject(), 60000L, responses, pages -> {
+      assertThat(pages, contains("page 1", "page 1"));
+      assertThat(renders.get(), equalTo(1));
+    });
+  }
+
+  @Test
+  public void handle_whenPageRequestedForAnotherHost_expectPageRendered(TestContext testContext) {
+    Single<List<String>> responses = get(PAGE, "first.example.com")
+        .flatMap(first -> get(PAGE, "second.example.com")
+            .map(second -> Arrays.asList(first, second)));
+
+    verify(testContext, new JsonObject(), 60000L, responses, pages -> {
+      assertThat(pages, contains("page 1", "page 2"));
+      assertThat(renders.get(), equalTo(2));
+    });
+  }
+
+  @Test
+  public void handle_whenConcurrentRequestsForMissingPage_expectPageRenderedOnce(
+      TestContext testContext) {
+    renderTime = 200L;
+    Single<List<String>> responses = Single.zip(get(PAGE, "localhost"),
+        get(PAGE, "localhost").delaySubscription(50, TimeUnit.MILLISECONDS),
+        Arrays::asList);
+
+    verify(testContext, new JsonObject(), 60000L, responses, pages -> {
+      assertThat(pages, contains("page 1", "page 1"));
+      assertThat(renders.get(), equalTo(1));
+    });
+  }
+
+  @Test
+  public void handle_whenPageStale_expectStalePageServedWhileSingleRequestRefreshesIt(
+      TestContext testContext) {
+    Single<List<String>> responses = get(PAGE, "localhost")
+        .delay(600, TimeUnit.MILLISECONDS)
+        .doOnSuccess(first -> renderTime = 200L)
+        .flatMap(first -> Single.zip(get(PAGE, "localhost"),
+            get(PAGE, "localhost").delaySubscription(50, TimeUnit.MILLISECONDS),
+            (refreshed, stale) -> Arrays.asList(first, refreshed, stale)))
+        .flatMap(pages -> get(PAGE, "localhost").map(last -> Arrays.asList(
+            pages.get(0), pages.get(1), pages.get(2), last)));
+
+    verify(testContext, new JsonObject().put("staleTtl", 60000L), 500L, responses, pages -> {
+      assertThat(pages, contains("page 1", "page 2", "page 1", "page 2"));
+      assertThat(renders.get(), equalTo(2));
+    });
+  }
+
+  @Test
+  public void handle_whenResponseSetsCookie_expectPageNotCached(TestContext testContext) {
+    Single<List<String>> responses = get(PAGE + "?login=true", "localhost")
+        .flatMap(first -> get(PAGE + "?login=true", "localhost")
+            .map(second -> Arrays.asList(first, second)));
+
+    verify(testContext, new JsonObject(), 60000L, responses, pages -> {
+      assertThat(pages, contains("page 1", "page 2"));
+      assertThat(renders.get(), equalTo(2));
+    });
+  }
+
+  @Test
+  public void handle_whenHttpResponseSetsCookie_expectPageNotCached(TestContext testContext) {
+    Single<List<String>> responses = get(PAGE + "?csrf=true", "localhost")
+        .flatMap(first -> get(PAGE + "?csrf=true", "localhost")
+            .map(second -> Arrays.asList(first, second)));
+
+    verify(testContext, new JsonObject(), 60000L, responses, pages -> {
+      assertThat(pages, contains("page 1", "page 2"));
+      assertThat(renders.get(), equalTo(2));
+    });
+  }
+
+  @Test
+  public void handle_whenPageLargerThanCache_expectPageNotKept(TestContext testContext) {
+    pageSize = 2048;
+    Single<List<String>> responses = get(PAGE, "localhost")
+        .flatMap(first -> get(PAGE, "localhost").map(second -> Arrays.asList(first, second)));
+
+    verify(testContext, new JsonObject().put("maxSize", 1024L), 60000L, responses, pages -> {
+      assertThat(pages, contains("page 1", "page 2"));
+      assertThat(renders.get(), equalTo(2));
+    });
+  }
+
+  private void verify(TestContext testContext, JsonObject pageCache, long ttl,
+      Single<List<String>> responses, Consumer<List<String>> assertions) {
+    Vertx rxVertx = Vertx.newInstance(vertx.vertx());
+    KnotxServerConfiguration configuration = Mockito.mock(KnotxServerConfiguration.class);
+    Mockito.when(configuration.getPageCacheConfig()).thenReturn(new PageCacheConfig(pageCache));
+    Mockito.when(configuration.getAllowedResponseHeaders())
+        .thenReturn(Collections.singleton("content-type"));
+    Router router = Router.router(rxVertx);
+    router.get().handler(KnotxPageCacheHandler
+        .create(rxVertx, configuration, new PageCacheRule(new JsonObject().put("ttl", ttl))));
+    router.get().handler(context -> render(rxVertx, context));
+
+    Async async = testContext.async();
+    rxVertx.createHttpServer().requestHandler(router::accept).rxListen(PORT)
+        .flatMap(server -> responses)
+        .subscribe(pages -> {
+          try {
+            assertions.accept(pages);
+          } catch (AssertionError e) {
+            testContext.fail(e);
+          }
+          async.complete();
+        }, testContext::fail);
+  }
+
+  /**
+   * Renders the next version of the page. The rendered response sets a cookie when the
+   * <tt>login</tt> param is present, the HTTP response gets a cookie from another handler when the
+   * <tt>csrf</tt> param is present.
+   */
+  private void render(Vertx rxVertx, RoutingContext context) {
+    String body = StringUtils.rightPad("page " + renders.incrementAndGet(), pageSize);
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Content-Type", "text/html");
+    if (context.request().getParam("login") != null) {
+      headers.add("Set-Cookie", "session=1");
+    }
+    if (context.request().getParam("csrf") != null) {
+      context.response().putHeader("Set-Cookie", "XSRF-TOKEN=1");
+    }
+    ClientResponse response = new ClientResponse()
+        .setStatusCode(HttpResponseStatus.OK.code())
+        .setHeaders(headers)
+        .setBody(Buffer.buffer(body));
+    rxVertx.setTimer(renderTime, timer -> {
+      PendingPage pendingPage = context.get(KnotxPageCacheHandler.PENDING_PAGE_KEY);
+      if (pendingPage != null) {
+        pendingPage.store(response);
+      }
+      context.response().headers().addAll(response.getHeaders());
+      context.response().end(body);
+    });
+  }
+
+  private Single<String> get(String path, String host) {
+    WebClient client = WebClient.create(Vertx.newInstance(vertx.vertx()));
+    return client.get(PORT, "localhost", path)
+        .putHeader("Host", host)
+        .rxSend()
+        .map(response -> response.bodyAsString().trim())
+        .doFinally(client::close);
+  }
+}
@@ -21,9 +21,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 import io.knotx.junit.util.FileReader;
 import io.knotx.server.configuration.KnotxServerConfiguration;
+import io.knotx.server.configuration.PageCacheRule;
 import io.knotx.server.configuration.RoutingEntry;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.junit.Before;
@@ -144,4 +147,16 @@ public class KnotxServerConfigurationRoutingTest {
         engineRouting.get(HttpMethod.POST).get(SECOND_IDX).onTransition().get("go-c").onTransition()
             .isEmpty(), equalTo(true));
   }
+
+  @Test
+  public void whenConfigWithPageCache_expectPageCacheRuleOnlyWhenDefined() throws Exception {
+    assertThat(engineRouting.get(HttpMethod.GET).get(FIRST_IDX).pageCache().isPresent(),
+        equalTo(false));
+
+    PageCacheRule rule = engineRouting.get(HttpMethod.GET).get(SECOND_IDX).pageCache().get();
+    assertThat(rule.getTtl(), equalTo(1000L));
+    assertThat(rule.getParams(), equalTo(Arrays.asList("lang", "page")));
+    assertThat(rule.getHeaders().isEmpty(), equalTo(true));
+    assertThat(rule.getCookies(), equalTo(Collections.singletonList("segment")));
+  }
 }
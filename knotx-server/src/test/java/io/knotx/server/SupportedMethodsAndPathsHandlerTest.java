@@ -19,6 +19,8 @@ package io.knotx.server;
 import io.knotx.junit.util.FileReader;
 import io.knotx.server.configuration.KnotxFlowConfiguration;
 import io.knotx.server.configuration.KnotxServerConfiguration;
+import io.knotx.server.configuration.RepositoryEntry;
+import io.knotx.server.configuration.RoutingEntry;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.http.HttpServerRequest;
@@ -53,6 +55,18 @@ public class SupportedMethodsAndPathsHandlerTest {
     Mockito.verify(context, Mockito.times(1)).next();
   }
 
+  @Test
+  public void handle_whenRequestPathAndMethodAllowedInDefaultFlow_expectRouteStoredInContext()
+      throws Exception {
+    RoutingContext context = mockContext("/content/page.html", HttpMethod.GET);
+    tested.handle(context);
+
+    Mockito.verify(context, Mockito.times(1)).put(Mockito.eq(RoutingEntry.KEY),
+        Mockito.eq(defaultFlow.routingEntryFor(HttpMethod.GET, "/content/page.html").get()));
+    Mockito.verify(context, Mockito.times(1)).put(Mockito.eq(RepositoryEntry.KEY),
+        Mockito.eq(defaultFlow.repositoryForPath("/content/page.html").get()));
+  }
+
   @Test
   public void handle_whenRequestPathNotAllowedInDefaultFlowAndAllowedInCustomFlow_expectRequestAccepted()
       throws Exception {
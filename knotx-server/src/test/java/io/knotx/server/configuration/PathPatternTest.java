@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server.configuration;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class PathPatternTest {
+
+  @Test
+  public void literalPrefix_whenRegexStartsWithLiterals_expectLiteralsUpToFirstMetaCharacter() {
+    assertThat(PathPattern.literalPrefix("/content/.*"), equalTo("/content/"));
+    assertThat(PathPattern.literalPrefix("^/services/feature\\.json"),
+        equalTo("/services/feature.json"));
+  }
+
+  @Test
+  public void literalPrefix_whenLiteralIsQuantified_expectLiteralExcluded() {
+    assertThat(PathPattern.literalPrefix("/contents?/.*"), equalTo("/content"));
+    assertThat(PathPattern.literalPrefix("/api/v\\d+/.*"), equalTo("/api/v"));
+  }
+
+  @Test
+  public void literalPrefix_whenRegexHasAlternativesOrFlags_expectEmptyPrefix() {
+    assertThat(PathPattern.literalPrefix("/content/.*|/services/.*"), equalTo(""));
+    assertThat(PathPattern.literalPrefix("(?i)/content/.*"), equalTo(""));
+    assertThat(PathPattern.literalPrefix(".*/local/.*\\.html"), equalTo(""));
+  }
+
+  @Test
+  public void matches_expectSameResultAsStringMatches() {
+    String[] regexes = {"/content/.*", ".*/local/.*\\.html", "/contents?/.*", "(?i)/CONTENT/.*"};
+    String[] paths = {"/content/local/simple.html", "/contents/page.html", "/service/a.json", ""};
+    for (String regex : regexes) {
+      PathPattern pattern = new PathPattern(regex);
+      for (String path : paths) {
+        assertThat(regex + " " + path, pattern.matches(path), equalTo(path.matches(regex)));
+      }
+    }
+  }
+}